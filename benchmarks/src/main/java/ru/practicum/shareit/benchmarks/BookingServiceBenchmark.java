@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        // без значений JMH перебирает все константы State
+        @Param
+        public State state;
+
+        BookingService bookingService;
+
+        @Setup(Level.Trial)
+        public void setUp(ServerState server) {
+            bookingService = server.bean(BookingService.class);
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllBookingsForOwner(ServerState server, Service service) {
+        return service.bookingService.getAllBookingsForOwner(server.randomUserId(), service.state.name(), 0, 20);
+    }
+}
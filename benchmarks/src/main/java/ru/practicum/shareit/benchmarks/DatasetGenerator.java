@@ -0,0 +1,157 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор набора данных для бенчмарков.
+ * Данные детерминированы (фиксированный seed), размеры задаются параметрами JMH
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final String[] WORDS = {
+            "дрель", "молоток", "пила", "стул", "палатка", "велосипед", "лестница", "шуруповерт",
+            "рюкзак", "удочка", "проектор", "самокат", "отвертка", "лодка", "гитара", "фонарь"
+    };
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private static final int CHUNK = 500;
+
+    private final ApplicationContext context;
+
+    private final Random random = new Random(42);
+
+    /**
+     * Заполнить базу
+     *
+     * @param users           количество пользователей
+     * @param itemsPerUser    вещей у каждого пользователя
+     * @param bookingsPerItem бронирований каждой вещи
+     * @param commentsPerItem комментариев к каждой вещи
+     * @param requestsPerUser запросов вещей от каждого пользователя
+     * @return сгенерированные пользователи
+     */
+    public List<User> generate(int users, int itemsPerUser, int bookingsPerItem,
+                               int commentsPerItem, int requestsPerUser) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        ItemRequestRepository itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            newUsers.add(User.builder().name("user" + i).email("user" + i + "@example.com").build());
+        }
+        List<User> savedUsers = saveInChunks(tx, newUsers, userRepository::saveAll);
+
+        List<ItemRequest> requests = new ArrayList<>();
+        for (User user : savedUsers) {
+            for (int i = 0; i < requestsPerUser; i++) {
+                requests.add(ItemRequest.builder()
+                        .requestor(user)
+                        .description("нужна " + word())
+                        .created(now.minusHours(random.nextInt(24 * 365)))
+                        .build());
+            }
+        }
+        List<ItemRequest> savedRequests = saveInChunks(tx, requests, itemRequestRepository::saveAll);
+
+        List<Item> items = new ArrayList<>();
+        for (User user : savedUsers) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                ItemRequest request = !savedRequests.isEmpty() && random.nextInt(4) == 0
+                        ? savedRequests.get(random.nextInt(savedRequests.size())) : null;
+                items.add(Item.builder()
+                        .name(word() + " " + i)
+                        .description(word() + " " + word() + " в хорошем состоянии")
+                        .available(random.nextInt(5) != 0)
+                        .owner(user)
+                        .request(request)
+                        .build());
+            }
+        }
+        List<Item> savedItems = saveInChunks(tx, items, itemRepository::saveAll);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : savedItems) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusHours(random.nextInt(24 * 60) - 24 * 30);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(anotherUser(savedUsers, item.getOwner()))
+                        .start(start)
+                        .end(start.plusHours(1 + random.nextInt(72)))
+                        .status(STATUSES[random.nextInt(STATUSES.length)])
+                        .build());
+            }
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(Comment.builder()
+                        .item(item)
+                        .author(anotherUser(savedUsers, item.getOwner()))
+                        .text("отзыв " + i + " про " + item.getName())
+                        .created(now.minusHours(random.nextInt(24 * 90)))
+                        .build());
+            }
+        }
+        saveInChunks(tx, bookings, bookingRepository::saveAll);
+        saveInChunks(tx, comments, commentRepository::saveAll);
+
+        log.info("Сгенерировано: пользователей {}, запросов {}, вещей {}, бронирований {}, комментариев {}.",
+                savedUsers.size(), savedRequests.size(), savedItems.size(), bookings.size(), comments.size());
+        return savedUsers;
+    }
+
+    public String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private User anotherUser(List<User> users, User except) {
+        if (users.size() == 1) {
+            return except;
+        }
+        User user;
+        do {
+            user = users.get(random.nextInt(users.size()));
+        } while (user.getId().equals(except.getId()));
+        return user;
+    }
+
+    private <T> List<T> saveInChunks(TransactionTemplate tx, List<T> rows, Saver<T> saver) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += CHUNK) {
+            List<T> chunk = rows.subList(from, Math.min(from + CHUNK, rows.size()));
+            saved.addAll(tx.execute(s -> saver.saveAll(chunk)));
+        }
+        return saved;
+    }
+
+    private interface Saver<T> {
+        List<T> saveAll(Iterable<T> rows);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузка на сервер по HTTP из многих потоков: пропускная способность (Throughput)
+ * и перцентили времени ответа, в том числе p0.99 (SampleTime),
+ * для пула потоков Tomcat и для виртуальных потоков
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class HttpLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Client {
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Benchmark
+    public int getAllBookingsForOwner(HttpServerState server, Client client)
+            throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(server.uri("/bookings/owner?state=ALL&from=0&size=20"))
+                .header("X-Sharer-User-Id", String.valueOf(server.randomUserId()))
+                .build());
+    }
+
+    @Benchmark
+    public int search(HttpServerState server, Client client) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(server.uri("/items/search?from=0&size=20&text="
+                        + server.randomWord()))
+                .build());
+    }
+
+    private static int send(Client client, HttpRequest request) throws IOException, InterruptedException {
+        return client.httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+
+import java.net.URI;
+
+/**
+ * Сервер с Tomcat на случайном порту, запросы обрабатываются на пуле потоков
+ * или на виртуальных потоках. Виртуальные потоки нужны JVM 21+, на более старой
+ * сервер с virtualThreads=true не запускается
+ */
+@State(Scope.Benchmark)
+public class HttpServerState extends ServerState {
+
+    // true задается явно при запуске на JDK 21+: -p virtualThreads=false,true
+    @Param({"false"})
+    public boolean virtualThreads;
+
+    @Param({"20"})
+    public int dbPoolSize;
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected String[] args() {
+        return new String[]{
+                "--server.port=0",
+                "--shareit.virtual-threads.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPoolSize
+        };
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + pathAndQuery);
+    }
+}
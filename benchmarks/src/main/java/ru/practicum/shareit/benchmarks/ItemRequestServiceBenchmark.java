@@ -0,0 +1,28 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemRequestServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        ItemRequestService itemRequestService;
+
+        @Setup(Level.Trial)
+        public void setUp(ServerState server) {
+            itemRequestService = server.bean(ItemRequestService.class);
+        }
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> findItemRequests(ServerState server, Service service) {
+        return service.itemRequestService.findItemRequests(server.randomUserId(), 0, 20);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        ItemService itemService;
+
+        @Setup(Level.Trial)
+        public void setUp(ServerState server) {
+            itemService = server.bean(ItemService.class);
+        }
+    }
+
+    @Benchmark
+    public List<ItemBookingDto> findAllByUserId(ServerState server, Service service) {
+        return service.itemService.findAllByUserId(server.randomUserId(), 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemDto> search(ServerState server, Service service) {
+        return service.itemService.search(server.randomWord(), 0, 20);
+    }
+}
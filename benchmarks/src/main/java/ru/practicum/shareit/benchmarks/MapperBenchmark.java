@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы на сущностях в памяти, без базы данных
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"20", "200"})
+    public int size;
+
+    private List<Booking> bookings;
+
+    private List<ItemRequest> requests;
+
+    private List<ItemDto> requestItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("owner").email("owner@example.com").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@example.com").build();
+
+        bookings = new ArrayList<>();
+        requests = new ArrayList<>();
+        requestItems = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            ItemRequest request = ItemRequest.builder()
+                    .id(i).description("нужна вещь " + i).created(now.minusHours(i)).requestor(booker)
+                    .build();
+            requests.add(request);
+            Item item = Item.builder()
+                    .id(i).name("вещь " + i).description("описание " + i).available(true)
+                    .owner(owner).request(request)
+                    .build();
+            requestItems.add(ItemMapper.itemToDto(item));
+            bookings.add(Booking.builder()
+                    .id(i).item(item).booker(booker)
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDto() {
+        return BookingMapper.bookingToDto(bookings);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestToDto() {
+        return ItemRequestMapper.itemRequestToDto(requests, requestItems);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Контекст сервера на встроенной H2 с набором данных.
+ * Поднимается один раз на прогон (trial) и общий для всех потоков
+ */
+@State(Scope.Benchmark)
+public class ServerState {
+
+    @Param({"50"})
+    public int users;
+
+    @Param({"20"})
+    public int itemsPerUser;
+
+    @Param({"10"})
+    public int bookingsPerItem;
+
+    @Param({"5"})
+    public int commentsPerItem;
+
+    @Param({"2"})
+    public int requestsPerUser;
+
+    public ConfigurableApplicationContext context;
+
+    public List<User> generatedUsers;
+
+    private DatasetGenerator generator;
+
+    private final Random random = new Random(7);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(webApplicationType())
+                .profiles("test")
+                .properties(
+                        "logging.level.root=WARN",
+                        "logging.level.ru.practicum.shareit.benchmarks=INFO")
+                .run(args());
+        generator = new DatasetGenerator(context);
+        generatedUsers = generator.generate(users, itemsPerUser, bookingsPerItem, commentsPerItem,
+                requestsPerUser);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Без веб-сервера, сервисы вызываются напрямую
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    // Аргументы командной строки приложения, имеют приоритет над application.properties
+    protected String[] args() {
+        return new String[0];
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Случайный пользователь из набора данных
+    public long randomUserId() {
+        return generatedUsers.get(random.nextInt(generatedUsers.size())).getId();
+    }
+
+    // Случайное слово из словаря генератора
+    public String randomWord() {
+        return generator.word();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -10,14 +11,19 @@ import ru.practicum.shareit.booking.dto.BookingNewRequestDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
 
 import javax.validation.Valid;
+import java.util.List;
 
 import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkSize;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 @Validated
 public class BookingController {
+    // бронирований в одном пакетном подтверждении
+    static final int MAX_BULK_SIZE = 100;
 
     private final BookingClient bookingClient;
 
@@ -31,6 +37,16 @@ public class BookingController {
         return bookingClient.create(userId, bookingNewDto);
     }
 
+    @PatchMapping(value = "/bulk", params = "approved")
+    public ResponseEntity<Object> approveAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam boolean approved,
+            @RequestBody List<Long> bookingIds
+    ) {
+        checkBookingIds(bookingIds);
+        return bookingClient.approveAll(userId, approved, bookingIds);
+    }
+
     @PatchMapping(value = "/{bookingId}", params = "approved")
     public ResponseEntity<Object> approve(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
@@ -40,6 +56,34 @@ public class BookingController {
         return bookingClient.approve(userId, approved, bookingId);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.getBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Object> export(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.exportBookings(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportOwner(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.exportOwnerBookings(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> get(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
@@ -53,8 +97,13 @@ public class BookingController {
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            checkSize(size);
+            return bookingClient.getAllBookings(userId, state, cursor, size);
+        }
         checkPaging(from, size);
         return bookingClient.getAllBookings(userId, state, from, size);
     }
@@ -64,14 +113,19 @@ public class BookingController {
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            checkSize(size);
+            return bookingClient.getAllBookingsForOwner(userId, state, cursor, size);
+        }
         checkPaging(from, size);
         return bookingClient.getAllBookingsForOwner(userId, state, from, size);
     }
 
-    // Проверка бронирования
-    private void validDateForBookingNewDto(BookingNewRequestDto bookingNewDto) {
+    // Проверка бронирования, используется и в BookingReactiveController
+    static void validDateForBookingNewDto(BookingNewRequestDto bookingNewDto) {
 
         if (bookingNewDto.getStart().isEqual(bookingNewDto.getEnd())) {
             throw new BadRequestException("Дата начала бронирования не должна совпадать " +
@@ -83,4 +137,14 @@ public class BookingController {
                     "позже даты окончания бронирования.");
         }
     }
+
+    static void checkBookingIds(List<Long> bookingIds) {
+        if (bookingIds.isEmpty() || bookingIds.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException(String.format("Список бронирований должен содержать от 1 до %d id.",
+                    MAX_BULK_SIZE));
+        }
+        if (bookingIds.contains(null)) {
+            throw new BadRequestException("Список бронирований не должен содержать пустых id.");
+        }
+    }
 }
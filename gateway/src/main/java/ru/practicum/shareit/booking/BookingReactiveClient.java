@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingNewRequestDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class BookingReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public BookingReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ClientHttpConnector shareItServerConnector, MeterRegistry meterRegistry) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(shareItServerConnector)
+                .build(), meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, BookingNewRequestDto bookingNewDto) {
+        return post("", userId, bookingNewDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(long userId, boolean approved, long bookingId) {
+        Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId,
+                "approved", approved
+        );
+        return patch("/{bookingId}?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveAll(long userId, boolean approved, List<Long> bookingIds) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("/bulk?approved={approved}", userId, parameters, bookingIds);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerBookingsSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookings(long userId) {
+        return get("/export", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwnerBookings(long userId) {
+        return get("/owner/export", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(long userId, long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookings(long userId, String state, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookingsForOwner(long userId, String state, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookings(long userId, String state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllBookingsForOwner(long userId, String state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+}
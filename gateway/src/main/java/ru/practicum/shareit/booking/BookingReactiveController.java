@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingNewRequestDto;
+
+import javax.validation.Valid;
+import java.util.List;
+
+import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkSize;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/bookings")
+@RequiredArgsConstructor
+@Validated
+public class BookingReactiveController {
+
+    private final BookingReactiveClient bookingClient;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestBody @Valid BookingNewRequestDto bookingNewDto
+    ) {
+        BookingController.validDateForBookingNewDto(bookingNewDto);
+        return bookingClient.create(userId, bookingNewDto);
+    }
+
+    @PatchMapping(value = "/bulk", params = "approved")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam boolean approved,
+            @RequestBody List<Long> bookingIds
+    ) {
+        BookingController.checkBookingIds(bookingIds);
+        return bookingClient.approveAll(userId, approved, bookingIds);
+    }
+
+    @PatchMapping(value = "/{bookingId}", params = "approved")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approve(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @PathVariable long bookingId,
+            @RequestParam boolean approved
+    ) {
+        return bookingClient.approve(userId, approved, bookingId);
+    }
+
+    @GetMapping("/summary")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.getBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> export(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.exportBookings(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwner(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId
+    ) {
+        return bookingClient.exportOwnerBookings(userId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @PathVariable long bookingId
+    ) {
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (cursor != null) {
+            checkSize(size);
+            return bookingClient.getAllBookings(userId, state, cursor, size);
+        }
+        checkPaging(from, size);
+        return bookingClient.getAllBookings(userId, state, from, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerAll(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (cursor != null) {
+            checkSize(size);
+            return bookingClient.getAllBookingsForOwner(userId, state, cursor, size);
+        }
+        checkPaging(from, size);
+        return bookingClient.getAllBookingsForOwner(userId, state, from, size);
+    }
+}
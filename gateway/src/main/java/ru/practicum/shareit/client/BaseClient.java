@@ -1,18 +1,43 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 public class BaseClient {
+    public static final String DOWNSTREAM_TIMER = "shareit.gateway.downstream";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+");
+    // заголовки соединения шлюза с сервером, клиенту не передаются
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, "Keep-Alive");
+
     protected final RestTemplate rest;
+    private final MeterRegistry meterRegistry;
+    // null, если кэш ответов отключен
+    private final ResponseCache responseCache;
+
+    public BaseClient(RestTemplate rest, MeterRegistry meterRegistry) {
+        this(rest, meterRegistry, null);
+    }
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, MeterRegistry meterRegistry, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.meterRegistry = meterRegistry;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -27,6 +52,54 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> cachedGet(String path) {
+        return cachedGet(path, null, null);
+    }
+
+    protected ResponseEntity<Object> cachedGet(String path, long userId) {
+        return cachedGet(path, userId, null);
+    }
+
+    // GET через кэш ответов: свежий ответ отдается без запроса к серверу,
+    // устаревший с ETag проверяется запросом If-None-Match
+    protected ResponseEntity<Object> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        URI uri = expand(path, parameters);
+        String key = ResponseCache.key(uri, userId);
+        long generation = responseCache.generation();
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null && responseCache.isFresh(cached)) {
+            return cached.toResponseEntity();
+        }
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null && cached.getETag() != null) {
+            headers.setIfNoneMatch(cached.getETag());
+        }
+        ClientHttpResponse response = execute(HttpMethod.GET, uri, path, headers, null);
+        try {
+            int status = response.getRawStatusCode();
+            if (status == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                response.close();
+                responseCache.put(key, cached.revalidated(responseCache.now()), generation);
+                return cached.toResponseEntity();
+            }
+            if (status != HttpStatus.OK.value() || !hasBody(response)
+                    || response.getHeaders().getContentLength() > responseCache.getMaxEntrySize()) {
+                return prepareGatewayResponse(response);
+            }
+            return cacheResponse(key, generation, response);
+        } catch (IOException e) {
+            response.close();
+            throw ioError(HttpMethod.GET, uri, e);
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -75,20 +148,131 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // Тело клиента передается серверу потоком без разбора, с исходным типом содержимого
+    protected ResponseEntity<Object> stream(String path, Long userId, MediaType contentType, InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return send(HttpMethod.POST, expand(path, null), path, headers, body);
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return send(method, expand(path, parameters), path, defaultHeaders(userId), body);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    // Ответ сервера не разбирается: статус, заголовки и поток тела передаются клиенту как есть
+    private <T> ResponseEntity<Object> send(HttpMethod method, URI uri, String path, HttpHeaders headers, @Nullable T body) {
+        ClientHttpResponse response = execute(method, uri, path, headers, body);
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            if (method != HttpMethod.GET && responseCache != null
+                    && HttpStatus.Series.resolve(response.getRawStatusCode()) == HttpStatus.Series.SUCCESSFUL) {
+                responseCache.invalidateAll();
+            }
+            return prepareGatewayResponse(response);
+        } catch (IOException e) {
+            response.close();
+            throw ioError(method, uri, e);
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    private <T> ClientHttpResponse execute(HttpMethod method, URI uri, String path, HttpHeaders headers, @Nullable T body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // статус IO_ERROR, если сервер не ответил
+        String status = "IO_ERROR";
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().addAll(headers);
+            if (body != null) {
+                writeBody(body, request);
+            }
+            ClientHttpResponse response = request.execute();
+            status = String.valueOf(response.getRawStatusCode());
+            return response;
+        } catch (IOException e) {
+            throw ioError(method, uri, e);
+        } finally {
+            sample.stop(Timer.builder(DOWNSTREAM_TIMER)
+                    .description("Запросы шлюза к shareit-server")
+                    .tag("client", getClass().getSimpleName())
+                    .tag("method", method.name())
+                    .tag("path", pathTag(path))
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    // Тело читается в память до maxEntrySize, ответ большего размера передается потоком без кэширования
+    private ResponseEntity<Object> cacheResponse(String key, long generation, ClientHttpResponse response)
+            throws IOException {
+        HttpHeaders headers = passThroughHeaders(response.getHeaders());
+        InputStream body = response.getBody();
+        byte[] prefix = body.readNBytes((int) responseCache.getMaxEntrySize() + 1);
+        if (prefix.length > responseCache.getMaxEntrySize()) {
+            return ResponseEntity.status(HttpStatus.OK).headers(headers)
+                    .body(new ServerResponseBody(response, prefix));
+        }
+        response.close();
+        CachedResponse cached = new CachedResponse(HttpStatus.OK.value(), headers, prefix, responseCache.now());
+        responseCache.put(key, cached, generation);
+        return cached.toResponseEntity();
+    }
+
+    private static ResourceAccessException ioError(HttpMethod method, URI uri, IOException e) {
+        return new ResourceAccessException("Ошибка запроса " + method + " " + uri + ": " + e.getMessage(), e);
+    }
+
+    // Освобождение соединения, если ответ сервера не передается клиенту
+    protected static void discard(ResponseEntity<Object> response) {
+        if (response.getBody() instanceof ServerResponseBody) {
+            ((ServerResponseBody) response.getBody()).close();
+        }
+    }
+
+    // Заголовки ответа сервера без заголовков соединения шлюза с сервером
+    static HttpHeaders passThroughHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeBody(Object body, ClientHttpRequest request) throws IOException {
+        if (body instanceof InputStream) {
+            InputStream stream = (InputStream) body;
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(stream::transferTo);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                stream.transferTo(request.getBody());
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON, request);
+                return;
+            }
+        }
+        throw new IllegalStateException("Нет конвертера для тела запроса " + body.getClass().getName());
+    }
+
+    // Путь без параметров запроса и идентификаторов, чтобы число тегов было ограничено
+    static String pathTag(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        String tag = ID_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+        return tag.isEmpty() ? "/" : tag;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -101,17 +285,21 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                .headers(passThroughHeaders(response.getHeaders()));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (!hasBody(response)) {
+            response.close();
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(new ServerResponseBody(response));
+    }
+
+    private static boolean hasBody(ClientHttpResponse response) throws IOException {
+        int status = response.getRawStatusCode();
+        return status != HttpStatus.NO_CONTENT.value() && status != HttpStatus.NOT_MODIFIED.value()
+                && response.getHeaders().getContentLength() != 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Ответ shareit-server в кэше шлюза
+ */
+@Getter
+public class CachedResponse {
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long storedAt;
+
+    public CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAt) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.storedAt = storedAt;
+    }
+
+    public String getETag() {
+        return headers.getETag();
+    }
+
+    // Тот же ответ, подтвержденный сервером (304) в момент now
+    public CachedResponse revalidated(long now) {
+        return new CachedResponse(status, headers, body, now);
+    }
+
+    public ResponseEntity<Object> toResponseEntity() {
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+
+/**
+ * Копирует байты ответа shareit-server в ответ шлюза без разбора JSON
+ */
+public class PassThroughHttpMessageConverter extends AbstractHttpMessageConverter<ServerResponseBody> {
+
+    public PassThroughHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ServerResponseBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ServerResponseBody readInternal(Class<? extends ServerResponseBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Тело ответа сервера только для записи.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ServerResponseBody body, HttpOutputMessage outputMessage) throws IOException {
+        try (body) {
+            StreamUtils.copy(body.getInputStream(), outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш ответов shareit-server на GET запросы, ограниченный по объему тел ответов.
+ * Любой успешный изменяющий запрос через клиенты очищает кэш целиком: бронирования и комментарии
+ * меняют ответы о вещах, вещи - ответы о запросах, поэтому точечная очистка была бы неполной
+ */
+@Slf4j
+public class ResponseCache {
+    // примерный размер ключа и заголовков записи
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Ticker ticker;
+    private final long ttlNanos;
+    private final long maxEntrySize;
+    // номер очистки кэша: ответ, запрошенный до очистки, после нее не сохраняется
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, Ticker ticker, MeterRegistry meterRegistry) {
+        this.ticker = ticker;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntrySize = properties.getMaxEntrySize().toBytes();
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) ->
+                        ENTRY_OVERHEAD + key.length() + response.getBody().length)
+                .expireAfterWrite(properties.getTtl().plus(properties.getRevalidateWithin()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    // Ответ зависит от пользователя, если запрос отправлен с X-Sharer-User-Id
+    public static String key(URI uri, Long userId) {
+        return uri + "|" + (userId != null ? userId : "-");
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return ticker.read() - response.getStoredAt() < ttlNanos;
+    }
+
+    public long now() {
+        return ticker.read();
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    // Номер очистки, читается до запроса к серверу и передается в put
+    public long generation() {
+        return generation.get();
+    }
+
+    // Сохранение ответа, если с момента generation() кэш не очищался
+    public void put(String key, CachedResponse response, long generation) {
+        if (generation != this.generation.get()) {
+            return;
+        }
+        cache.put(key, response);
+        // очистка могла пройти между проверкой и записью
+        if (generation != this.generation.get()) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Кэш ответов очищен после изменяющего запроса.");
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тело ответа shareit-server, которое еще не прочитано.
+ * Копируется в ответ шлюза PassThroughHttpMessageConverter, после чего соединение возвращается в пул.
+ * Тело, не записанное в ответ из-за ошибки, закрывается по завершении запроса шлюза
+ */
+public class ServerResponseBody implements Closeable {
+    private static final String BODIES_ATTRIBUTE = ServerResponseBody.class.getName() + ".BODIES";
+
+    private final ClientHttpResponse response;
+    // начало тела, уже прочитанное из потока ответа
+    private final byte[] prefix;
+    private boolean closed;
+
+    public ServerResponseBody(ClientHttpResponse response) {
+        this(response, new byte[0]);
+    }
+
+    public ServerResponseBody(ClientHttpResponse response, byte[] prefix) {
+        this.response = response;
+        this.prefix = prefix;
+        closeOnRequestCompletion(this);
+    }
+
+    public InputStream getInputStream() throws IOException {
+        if (prefix.length == 0) {
+            return response.getBody();
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody());
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            response.close();
+        }
+    }
+
+    // Закрытие тела при завершении запроса шлюза (RequestAttributes.requestCompleted),
+    // если оно не было записано в ответ
+    @SuppressWarnings("unchecked")
+    private static void closeOnRequestCompletion(ServerResponseBody body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        List<ServerResponseBody> bodies = (List<ServerResponseBody>) attributes
+                .getAttribute(BODIES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (bodies == null) {
+            List<ServerResponseBody> requestBodies = new ArrayList<>();
+            attributes.setAttribute(BODIES_ATTRIBUTE, requestBodies, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(BODIES_ATTRIBUTE,
+                    () -> requestBodies.forEach(ServerResponseBody::close), RequestAttributes.SCOPE_REQUEST);
+            bodies = requestBodies;
+        }
+        bodies.add(body);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов шлюза на GET запросы
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    // общий объем тел ответов в кэше
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    // ответы больше не кэшируются и передаются потоком
+    private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+    // в течение этого времени ответ отдается из кэша без запроса к серверу
+    private Duration ttl = Duration.ofSeconds(30);
+    // после ttl ответ с ETag проверяется запросом If-None-Match, затем удаляется
+    private Duration revalidateWithin = Duration.ofMinutes(10);
+}
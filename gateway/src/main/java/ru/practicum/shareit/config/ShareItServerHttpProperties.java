@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула HTTP соединений шлюза к shareit-server
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ShareItServerHttpProperties {
+    // всего соединений в пуле
+    private int maxTotal = 200;
+    // соединений на один хост, все запросы шлюза идут на один сервер
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    // ожидание свободного соединения из пула
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    // простаивающие дольше соединения закрываются
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    // время жизни соединения, если сервер не прислал заголовок Keep-Alive
+    private Duration keepAlive = Duration.ofSeconds(30);
+    // проверка соединения, простоявшего дольше, перед повторным использованием
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -2,10 +2,14 @@ package ru.practicum.shareit.handler;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ErrorMessage;
 import ru.practicum.shareit.exceptions.ErrorMessageField;
@@ -30,12 +34,22 @@ public class ErrorHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public List<ErrorMessageField> handlerValidateException(final MethodArgumentNotValidException e) {
         log.warn(e.getMessage());
-        List<ErrorMessageField> errors = new ArrayList<>();
-        e.getBindingResult().getFieldErrors().forEach(
-                fieldError -> {
-                    errors.add(new ErrorMessageField(fieldError.getField(), fieldError.getDefaultMessage()));
-                });
-        return errors;
+        return fieldErrors(e.getBindingResult());
+    }
+
+    // 400, реактивный режим
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public List<ErrorMessageField> handlerValidateException(final WebExchangeBindException e) {
+        log.warn(e.getMessage());
+        return fieldErrors(e.getBindingResult());
+    }
+
+    // 4xx, реактивный режим: нет заголовка, неверный параметр запроса
+    @ExceptionHandler
+    public ResponseEntity<ErrorMessage> handlerResponseStatusException(final ResponseStatusException e) {
+        log.warn(e.getMessage());
+        return ResponseEntity.status(e.getStatus()).body(new ErrorMessage(e.getReason()));
     }
 
     // 500
@@ -46,4 +60,13 @@ public class ErrorHandler {
         log.warn(msg);
         return new ErrorMessage(msg);
     }
+
+    private static List<ErrorMessageField> fieldErrors(BindingResult bindingResult) {
+        List<ErrorMessageField> errors = new ArrayList<>();
+        bindingResult.getFieldErrors().forEach(
+                fieldError -> {
+                    errors.add(new ErrorMessageField(fieldError.getField(), fieldError.getDefaultMessage()));
+                });
+        return errors;
+    }
 }
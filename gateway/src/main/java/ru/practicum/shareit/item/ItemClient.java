@@ -1,40 +1,57 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentNewRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory shareItServerRequestFactory, MeterRegistry meterRegistry,
+            ObjectProvider<ResponseCache> responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), meterRegistry, responseCache.getIfAvailable());
     }
 
     public ResponseEntity<Object> create(long userId, ItemRequestDto itemDto) {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(long userId, MediaType contentType, InputStream body) {
+        return stream("/bulk", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> update(long userId, long id, ItemRequestDto itemDto) {
         return patch("/" + id, userId, itemDto);
     }
 
     public ResponseEntity<Object> findById(Long userId, Long id) {
-        return get("/" + id, userId);
+        return cachedGet("/" + id, userId);
     }
 
     public ResponseEntity<Object> findAllByUserId(Long userId, int from, int size) {
@@ -45,13 +62,42 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> findAllByUserId(Long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> search(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return cachedGet("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, long itemId,
+                                                  @Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get(availabilityPath(itemId, from, to, parameters), userId, parameters);
+    }
+
+    // Путь календаря доступности, незаданные границы определяет сервер
+    static String availabilityPath(long itemId, @Nullable LocalDateTime from, @Nullable LocalDateTime to,
+                                   Map<String, Object> parameters) {
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        if (from != null) {
+            parameters.put("from", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(from));
+            path.append(parameters.size() == 1 ? '?' : '&').append("from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(to));
+            path.append(parameters.size() == 1 ? '?' : '&').append("to={to}");
+        }
+        return path.toString();
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentNewRequestDto commentNewDto) {
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,10 +14,15 @@ import ru.practicum.shareit.item.dto.CommentNewRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkPeriod;
+import static ru.practicum.shareit.utils.Utils.checkSize;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
@@ -39,6 +48,15 @@ public class ItemController {
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> importItems(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        return itemClient.importItems(userId, contentType, body);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<Object> update(
             @RequestHeader(value = "X-Sharer-User-Id") long userId,
@@ -60,12 +78,28 @@ public class ItemController {
     public ResponseEntity<Object> findAllByUserId(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            checkSize(size);
+            return itemClient.findAllByUserId(userId, cursor, size);
+        }
         checkPaging(from, size);
         return itemClient.findAllByUserId(userId, from, size);
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        checkPeriod(from, to);
+        return itemClient.getAvailability(userId, id, from, to);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> search(
             @RequestParam String text,
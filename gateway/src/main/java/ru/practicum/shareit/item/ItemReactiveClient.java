@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentNewRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ItemReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ClientHttpConnector shareItServerConnector, MeterRegistry meterRegistry) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(shareItServerConnector)
+                .build(), meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(long userId, ItemRequestDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(long userId, MediaType contentType, Flux<DataBuffer> body) {
+        return stream("/bulk", userId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long userId, long id, ItemRequestDto itemDto) {
+        return patch("/" + id, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findById(Long userId, Long id) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllByUserId(Long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllByUserId(Long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(String text, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(Long userId, long itemId,
+                                                                  @Nullable LocalDateTime from,
+                                                                  @Nullable LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        return get(ItemClient.availabilityPath(itemId, from, to, parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addComment(long userId, long itemId, CommentNewRequestDto commentNewDto) {
+        return post("/" + itemId + "/comment", userId, commentNewDto);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentNewRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkPeriod;
+import static ru.practicum.shareit.utils.Utils.checkSize;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Validated
+public class ItemReactiveController {
+    private final ItemReactiveClient itemClient;
+
+    @PostMapping(value = "/{itemId}/comment")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @PathVariable long itemId,
+            @Valid @RequestBody CommentNewRequestDto commentNewDto
+    ) {
+        return itemClient.addComment(userId, itemId, commentNewDto);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @Valid @RequestBody ItemRequestDto itemDto
+    ) {
+        return itemClient.create(userId, itemDto);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestBody Flux<DataBuffer> body
+    ) {
+        return itemClient.importItems(userId, contentType, body);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(
+            @RequestHeader(value = "X-Sharer-User-Id") long userId,
+            @RequestBody ItemRequestDto itemDto,
+            @PathVariable long id
+    ) {
+        return itemClient.update(userId, id, itemDto);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findById(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @PathVariable Long id
+    ) {
+        return itemClient.findById(userId, id);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllByUserId(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (cursor != null) {
+            checkSize(size);
+            return itemClient.findAllByUserId(userId, cursor, size);
+        }
+        checkPaging(from, size);
+        return itemClient.findAllByUserId(userId, from, size);
+    }
+
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        checkPeriod(from, to);
+        return itemClient.getAvailability(userId, id, from, to);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        checkPaging(from, size);
+        return itemClient.search(text, from, size);
+    }
+}
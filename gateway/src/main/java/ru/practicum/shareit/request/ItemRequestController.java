@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -11,8 +12,10 @@ import ru.practicum.shareit.request.dto.ItemRequestNewDto;
 import javax.validation.Valid;
 
 import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkSize;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/requests")
 @RequiredArgsConstructor
 @Validated
@@ -40,8 +43,13 @@ public class ItemRequestController {
     public ResponseEntity<Object> findAll(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            checkSize(size);
+            return requestClient.findItemRequests(userId, cursor, size);
+        }
         checkPaging(from, size);
         return requestClient.findItemRequests(userId, from, size);
     }
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestNewDto;
+
+import javax.validation.Valid;
+
+import static ru.practicum.shareit.utils.Utils.checkPaging;
+import static ru.practicum.shareit.utils.Utils.checkSize;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/requests")
+@RequiredArgsConstructor
+@Validated
+public class ItemRequestReactiveController {
+
+    private final ItemRequestReactiveClient requestClient;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @Valid @RequestBody ItemRequestNewDto requestDto
+    ) {
+        return requestClient.saveItemRequest(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAllByRequestor(
+            @RequestHeader("X-Sharer-User-Id") long userId
+    ) {
+        return requestClient.findAllByRequestor(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAll(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (cursor != null) {
+            checkSize(size);
+            return requestClient.findItemRequests(userId, cursor, size);
+        }
+        checkPaging(from, size);
+        return requestClient.findItemRequests(userId, from, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemRequest(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PathVariable long id
+    ) {
+        return requestClient.getItemRequest(userId, id);
+    }
+}
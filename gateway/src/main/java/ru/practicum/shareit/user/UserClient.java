@@ -1,26 +1,33 @@
 package ru.practicum.shareit.user;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory shareItServerRequestFactory, MeterRegistry meterRegistry,
+            ObjectProvider<ResponseCache> responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), meterRegistry, responseCache.getIfAvailable());
     }
 
     public ResponseEntity<Object> create(UserRequestDto requestDto) {
@@ -32,11 +39,11 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> findById(long userId) {
-        return get("/" + userId);
+        return cachedGet("/" + userId);
     }
 
     public void delete(long userId) {
-        delete("/" + userId);
+        discard(delete("/" + userId));
     }
 
     public ResponseEntity<Object> findAll() {
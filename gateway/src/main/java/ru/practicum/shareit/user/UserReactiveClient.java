@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user;
+
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public UserReactiveClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ClientHttpConnector shareItServerConnector, MeterRegistry meterRegistry) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(shareItServerConnector)
+                .build(), meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(UserRequestDto requestDto) {
+        return post("", requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(long userid, UserRequestDto requestDto) {
+        return patch("/" + userid, userid, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findById(long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<Void> delete(long userId) {
+        return delete("/" + userId).then();
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findAll() {
+        return get("");
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.exceptions.BadRequestException;
 
+import java.time.LocalDateTime;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Utils {
@@ -19,4 +20,27 @@ public class Utils {
             throw new BadRequestException("Не верный запрос для постраничного вывода.");
         }
     }
+
+    /**
+     * Проверка размера страницы при постраничной обработке по курсору
+     *
+     * @param size количество элементов
+     */
+    public static void checkSize(int size) {
+        if (size <= 0) {
+            throw new BadRequestException("Не верный запрос для постраничного вывода.");
+        }
+    }
+
+    /**
+     * Проверка периода запроса: при заданных границах начало раньше окончания
+     *
+     * @param from начало периода
+     * @param to   окончание периода
+     */
+    public static void checkPeriod(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new BadRequestException("Начало периода должно быть раньше его окончания.");
+        }
+    }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.config.ResponseCacheProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+// Кэш ответов BaseClient.cachedGet против MockRestServiceServer, время задается вручную
+class BaseClientCacheTest {
+    private static final String URL = "http://server/users/1";
+    private static final String ETAG = "\"v1\"";
+
+    private MockRestServiceServer server;
+    private ResponseCache responseCache;
+    private BaseClient client;
+    private long nanos;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/users"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setTtl(Duration.ofSeconds(30));
+        responseCache = new ResponseCache(properties, () -> nanos, new SimpleMeterRegistry());
+        client = new BaseClient(rest, new SimpleMeterRegistry(), responseCache);
+    }
+
+    @Test
+    void cachedGet_Fresh_ServedFromCache() {
+        server.expect(once(), requestTo(URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> first = client.cachedGet("/1");
+        ResponseEntity<Object> second = client.cachedGet("/1");
+
+        server.verify();
+        Assertions.assertThat(body(first)).isEqualTo("{\"id\":1}");
+        Assertions.assertThat(body(second)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void cachedGet_AfterWrite_RequestedAgain() {
+        server.expect(once(), requestTo(URL))
+                .andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(URL))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+
+        client.cachedGet("/1");
+        BaseClient.discard(client.patch("/1", 1L, Map.of("name", "new")));
+        ResponseEntity<Object> afterWrite = client.cachedGet("/1");
+
+        server.verify();
+        Assertions.assertThat(body(afterWrite)).isEqualTo("{\"name\":\"new\"}");
+    }
+
+    @Test
+    void cachedGet_Stale_RevalidatedWithIfNoneMatch() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        server.expect(once(), requestTo(URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(once(), requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        client.cachedGet("/1");
+        nanos += Duration.ofSeconds(31).toNanos();
+        ResponseEntity<Object> revalidated = client.cachedGet("/1");
+        // подтвержденный ответ снова свежий, без запроса к серверу
+        ResponseEntity<Object> fresh = client.cachedGet("/1");
+
+        server.verify();
+        Assertions.assertThat(revalidated.getStatusCodeValue()).isEqualTo(200);
+        Assertions.assertThat(body(revalidated)).isEqualTo("{\"id\":1}");
+        Assertions.assertThat(body(fresh)).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void put_InvalidatedDuringRequest_NotStored() {
+        long generation = responseCache.generation();
+        responseCache.invalidateAll();
+
+        responseCache.put("key", new CachedResponse(200, new HttpHeaders(), new byte[0], nanos), generation);
+
+        Assertions.assertThat(responseCache.get("key")).isNull();
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.mockito.Mockito.*;
+
+class ServerResponseBodyTest {
+
+    private ServletRequestAttributes attributes;
+
+    @BeforeEach
+    void setUp() {
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void requestCompleted_NotWritten_ConnectionClosed() {
+        ClientHttpResponse first = mock(ClientHttpResponse.class);
+        ClientHttpResponse second = mock(ClientHttpResponse.class);
+        new ServerResponseBody(first);
+        new ServerResponseBody(second, new byte[]{1});
+
+        attributes.requestCompleted();
+
+        verify(first, times(1)).close();
+        verify(second, times(1)).close();
+    }
+
+    @Test
+    void requestCompleted_Written_ClosedOnce() {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        ServerResponseBody body = new ServerResponseBody(response);
+        // запись в ответ PassThroughHttpMessageConverter
+        body.close();
+
+        attributes.requestCompleted();
+
+        verify(response, times(1)).close();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item;
+
+import com.sun.net.httpserver.HttpServer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+// Шлюз в реактивном режиме против заглушки shareit-server на JDK HttpServer
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ItemReactiveControllerTest {
+
+    // больше лимита буфера кодеков WebClient по умолчанию (256KB)
+    private static final int LARGE_BODY_SIZE = 1024 * 1024;
+
+    private static final HttpServer server = startServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void findAllByUserId_LargeBody_PassedThrough() {
+        // лимит проверяется на стороне шлюза, клиент теста принимает тело целиком
+        byte[] body = webTestClient.mutate()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * LARGE_BODY_SIZE))
+                .build()
+                .get()
+                .uri("/items?from=0&size=20")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().returnResult().getResponseBody();
+
+        Assertions.assertThat(body).hasSize(LARGE_BODY_SIZE);
+    }
+
+    @Test
+    void findById_ServerError_PassedThrough() {
+        webTestClient.get()
+                .uri("/items/404")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectBody().jsonPath("$.error").isEqualTo("Вещь c id=404 не найдена.");
+    }
+
+    @Test
+    void findAllByUserId_Cursor_OnlySizeChecked() {
+        webTestClient.get()
+                .uri("/items?from=-1&size=20&cursor=abc")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri("/items?size=0&cursor=abc")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.createContext("/items", exchange -> {
+                byte[] body;
+                int status;
+                if (exchange.getRequestURI().getPath().equals("/items/404")) {
+                    status = 404;
+                    body = "{\"error\":\"Вещь c id=404 не найдена.\"}".getBytes(StandardCharsets.UTF_8);
+                } else {
+                    status = 200;
+                    body = largeJsonArray();
+                }
+                exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] largeJsonArray() {
+        StringBuilder json = new StringBuilder("[");
+        String element = "{\"id\":1,\"name\":\"drill\"},";
+        while (json.length() + element.length() < LARGE_BODY_SIZE - 1) {
+            json.append(element);
+        }
+        json.setLength(json.length() - 1);
+        json.append(']');
+        while (json.length() < LARGE_BODY_SIZE) {
+            json.append(' ');
+        }
+        return json.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
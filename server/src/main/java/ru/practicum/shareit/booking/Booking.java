@@ -33,6 +33,29 @@ public class Booking {
     @JoinColumn(name = "booker_id", nullable = false)
     private User booker;
 
+    // владелец вещи, копия items.owner_id для выборок владельца без соединения с items
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    // изменяется только сдвигом фаз, обновление сущности колонку не перезаписывает
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private BookingPhase phase;
+
+    @Version
+    private long version;
+
+    @PrePersist
+    private void prePersist() {
+        if (owner == null) {
+            owner = item.getOwner();
+        }
+        if (phase == null) {
+            phase = BookingPhase.of(start, end, LocalDateTime.now());
+        }
+    }
 }
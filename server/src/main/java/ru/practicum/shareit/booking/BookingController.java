@@ -1,12 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.VersionStamp;
+import ru.practicum.shareit.utils.Versioned;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Slf4j
@@ -16,6 +29,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,6 +41,16 @@ public class BookingController {
         return bookingService.createBooking(userId, bookingNewDto);
     }
 
+    @PatchMapping(value = "/bulk", params = "approved")
+    public List<BookingDto> approveAll(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam boolean approved,
+            @RequestBody List<Long> bookingIds
+    ) {
+        log.info("PATCH /bookings/bulk - разрешение/отмена {} бронирований.", bookingIds.size());
+        return bookingService.approveAll(userId, approved, bookingIds);
+    }
+
     @PatchMapping(value = "/{bookingId}", params = "approved")
     public BookingDto approve(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
@@ -37,6 +61,40 @@ public class BookingController {
         return bookingService.approve(userId, approved, bookingId);
     }
 
+    @GetMapping("/summary")
+    public BookingSummaryDto getSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId
+    ) {
+        log.info("GET /bookings/summary - число бронирований по состояниям.");
+        return bookingService.getBookingsSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId
+    ) {
+        log.info("GET /bookings/owner/summary - число бронирований владельца по состояниям.");
+        return bookingService.getOwnerBookingsSummary(userId);
+    }
+
+    @GetMapping("/export")
+    public void export(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /bookings/export - выгрузка всех бронирований пользователя {}.", userId);
+        exportNdjson(userId, false, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwner(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /bookings/owner/export - выгрузка всех бронирований владельца {}.", userId);
+        exportNdjson(userId, true, response);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto get(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
@@ -51,10 +109,15 @@ public class BookingController {
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
         log.info("GET /bookings - все бронирования.");
-        return bookingService.getAllBookings(userId, state, from, size);
+        Versioned<List<BookingDto>> page = bookingService.getAllBookingsVersioned(userId, state, from, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, state, from, size))) {
+            return null;
+        }
+        return page.getBody();
     }
 
     @GetMapping("/owner")
@@ -62,9 +125,63 @@ public class BookingController {
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
         log.info("GET /bookings/owner - все бронирования владельца.");
-        return bookingService.getAllBookingsForOwner(userId, state, from, size);
+        Versioned<List<BookingDto>> page = bookingService.getAllBookingsForOwnerVersioned(userId, state, from, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, state, from, size))) {
+            return null;
+        }
+        return page.getBody();
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDto>> getAllByCursor(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
+    ) {
+        log.info("GET /bookings - все бронирования по курсору.");
+        Versioned<CursorPage<BookingDto>> page = bookingService.getAllBookingsVersioned(userId, state, cursor, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, state, cursor, size))) {
+            return null;
+        }
+        return page.getBody().toResponseEntity();
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingDto>> getOwnerAllByCursor(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
+    ) {
+        log.info("GET /bookings/owner - все бронирования владельца по курсору.");
+        Versioned<CursorPage<BookingDto>> page = bookingService.getAllBookingsForOwnerVersioned(userId, state, cursor, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, state, cursor, size))) {
+            return null;
+        }
+        return page.getBody().toResponseEntity();
+    }
+
+    // Бронирования пишутся в ответ по одному JSON в строке по мере чтения из базы.
+    // Ошибки до первой строки (неизвестный пользователь) возвращаются обычным ответом ErrorHandler
+    private void exportNdjson(Long userId, boolean owner, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        bookingService.exportBookings(userId, owner, booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
     }
 }
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * Число бронирований пользователя по State; FUTURE, CURRENT и PAST посчитаны
+ * на момент последнего сдвига из BookingCounterRollover
+ */
+@Builder
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "booking_counters")
+public class BookingCounter {
+    @EmbeddedId
+    private BookingCounterId id;
+
+    @Column(name = "all_count")
+    private long all;
+
+    @Column(name = "waiting_count")
+    private long waiting;
+
+    @Column(name = "rejected_count")
+    private long rejected;
+
+    @Column(name = "future_count")
+    private long future;
+
+    @Column(name = "current_count")
+    private long current;
+
+    @Column(name = "past_count")
+    private long past;
+
+    // конструктор для пересчета через JPQL
+    public BookingCounter(Long all, Long waiting, Long rejected, Long future, Long current, Long past) {
+        this.all = all;
+        this.waiting = waiting;
+        this.rejected = rejected;
+        this.future = future;
+        this.current = current;
+        this.past = past;
+    }
+}
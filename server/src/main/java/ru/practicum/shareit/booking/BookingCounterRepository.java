@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BookingCounterRepository extends JpaRepository<BookingCounter, BookingCounterId> {
+
+    // Приращение счетчиков пользователя одним UPDATE, 0 если строки счетчиков еще нет
+    @Modifying
+    @Query("update BookingCounter as c set c.all=c.all+?3, c.waiting=c.waiting+?4, c.rejected=c.rejected+?5, " +
+            "c.future=c.future+?6, c.current=c.current+?7, c.past=c.past+?8 " +
+            "where c.id.userId=?1 and c.id.role=?2")
+    int add(Long userId, BookingCounterRole role, long all, long waiting, long rejected,
+            long future, long current, long past);
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "booking_counters_rollover")
+public class BookingCounterRollover {
+    // единственная строка
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "rolled_at")
+    private LocalDateTime rolledAt;
+}
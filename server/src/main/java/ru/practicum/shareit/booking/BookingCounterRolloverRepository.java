@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+
+public interface BookingCounterRolloverRepository extends JpaRepository<BookingCounterRollover, Integer> {
+
+    // Разделяемая блокировка строки сдвига на время приращения счетчиков: приращения
+    // не ждут друг друга, но не пересекаются со сдвигом и пересчетом
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select r from BookingCounterRollover as r where r.id=?1")
+    BookingCounterRollover findForUpdateCounters(Integer id);
+
+    // Исключительная блокировка для сдвига и пересчета счетчиков
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from BookingCounterRollover as r where r.id=?1")
+    BookingCounterRollover lockById(Integer id);
+}
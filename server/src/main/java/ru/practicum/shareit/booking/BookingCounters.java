@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingTransitionCount;
+import ru.practicum.shareit.utils.Utils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Счетчики бронирований по State для забронировавшего и для владельца вещи.
+ * WAITING, REJECTED и ALL меняются вместе с бронированием, FUTURE, CURRENT и PAST
+ * считаются на момент rolledAt и переносятся периодическим сдвигом rollover().
+ * Изменения счетчиков берут разделяемую блокировку строки сдвига, сдвиг и пересчет -
+ * исключительную, поэтому приращение не теряется между пересчетом и сдвигом.
+ * Строка счетчиков пользователя создается пересчетом при первом чтении
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingCounters {
+    // индексы приращений
+    private static final int ALL = 0;
+    private static final int WAITING = 1;
+    private static final int REJECTED = 2;
+    private static final int FUTURE = 3;
+    private static final int CURRENT = 4;
+    private static final int PAST = 5;
+
+    private final BookingCounterRepository counterRepository;
+    private final BookingCounterRolloverRepository rolloverRepository;
+    private final BookingRepository bookingRepository;
+
+    // Новое бронирование: учитывается у забронировавшего и у владельца вещи
+    public void created(Booking booking) {
+        LocalDateTime rolledAt = rolloverRepository.findForUpdateCounters(BookingCounterRollover.ID).getRolledAt();
+        long[] delta = new long[6];
+        delta[ALL] = 1;
+        addStatus(delta, booking.getStatus(), 1);
+        if (booking.getStart().isAfter(rolledAt)) {
+            delta[FUTURE] = 1;
+        } else if (booking.getEnd().isAfter(rolledAt)) {
+            delta[CURRENT] = 1;
+        } else {
+            delta[PAST] = 1;
+        }
+        add(booking.getBooker().getId(), BookingCounterRole.BOOKER, delta);
+        add(booking.getOwner().getId(), BookingCounterRole.OWNER, delta);
+    }
+
+    // Смена статуса бронирований, вызывается до установки нового статуса
+    public void statusChanged(Collection<Booking> bookings, BookingStatus status) {
+        Map<BookingCounterId, long[]> deltas = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == status) {
+                continue;
+            }
+            for (BookingCounterId id : List.of(
+                    new BookingCounterId(booking.getBooker().getId(), BookingCounterRole.BOOKER),
+                    new BookingCounterId(booking.getOwner().getId(), BookingCounterRole.OWNER))) {
+                long[] delta = deltas.computeIfAbsent(id, key -> new long[6]);
+                addStatus(delta, booking.getStatus(), -1);
+                addStatus(delta, status, 1);
+            }
+        }
+        deltas.values().removeIf(delta -> delta[WAITING] == 0 && delta[REJECTED] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        rolloverRepository.findForUpdateCounters(BookingCounterRollover.ID);
+        deltas.forEach((id, delta) -> add(id.getUserId(), id.getRole(), delta));
+    }
+
+    // Счетчики пользователя, при отсутствии - пересчет по бронированиям и сохранение
+    public BookingSummaryDto summary(Long userId, BookingCounterRole role) {
+        BookingCounterId id = new BookingCounterId(userId, role);
+        BookingCounter counter = counterRepository.findById(id).orElse(null);
+        LocalDateTime rolledAt;
+        if (counter == null) {
+            rolledAt = rolloverRepository.lockById(BookingCounterRollover.ID).getRolledAt();
+            // строку мог создать параллельный запрос, пока ожидалась блокировка
+            counter = counterRepository.findById(id).orElse(null);
+            if (counter == null) {
+                counter = recount(id, rolledAt);
+            }
+        } else {
+            rolledAt = rolloverRepository.findById(BookingCounterRollover.ID)
+                    .map(BookingCounterRollover::getRolledAt)
+                    .orElseThrow();
+        }
+        return BookingSummaryDto.builder()
+                .all(counter.getAll())
+                .current(counter.getCurrent())
+                .past(counter.getPast())
+                .future(counter.getFuture())
+                .waiting(counter.getWaiting())
+                .rejected(counter.getRejected())
+                .asOf(rolledAt.format(Utils.dtFormatter))
+                .build();
+    }
+
+    // Перенос начавшихся и закончившихся с прошлого сдвига бронирований между FUTURE, CURRENT и PAST
+    @Scheduled(fixedDelayString = "${shareit.booking-counters.rollover-interval:PT1M}",
+            initialDelayString = "${shareit.booking-counters.rollover-interval:PT1M}")
+    @Transactional
+    public void rollover() {
+        BookingCounterRollover rollover = rolloverRepository.lockById(BookingCounterRollover.ID);
+        LocalDateTime from = rollover.getRolledAt();
+        LocalDateTime to = LocalDateTime.now();
+        if (!to.isAfter(from)) {
+            return;
+        }
+        applyStarted(BookingCounterRole.BOOKER, bookingRepository.countBookerStarted(from, to));
+        applyEnded(BookingCounterRole.BOOKER, bookingRepository.countBookerEnded(from, to));
+        applyStarted(BookingCounterRole.OWNER, bookingRepository.countOwnerStarted(from, to));
+        applyEnded(BookingCounterRole.OWNER, bookingRepository.countOwnerEnded(from, to));
+        rollover.setRolledAt(to);
+        log.debug("Счетчики бронирований сдвинуты на {}.", to);
+    }
+
+    private BookingCounter recount(BookingCounterId id, LocalDateTime rolledAt) {
+        BookingCounter counter = id.getRole() == BookingCounterRole.BOOKER
+                ? bookingRepository.countBookerBookings(id.getUserId(), BookingStatus.WAITING,
+                BookingStatus.REJECTED, BookingStatus.CANCELED, rolledAt)
+                : bookingRepository.countOwnerBookings(id.getUserId(), BookingStatus.WAITING,
+                BookingStatus.REJECTED, BookingStatus.CANCELED, rolledAt);
+        counter.setId(id);
+        return counterRepository.save(counter);
+    }
+
+    // FUTURE -> CURRENT, или сразу в PAST, если бронирование успело закончиться
+    private void applyStarted(BookingCounterRole role, List<BookingTransitionCount> counts) {
+        for (BookingTransitionCount count : counts) {
+            counterRepository.add(count.getUserId(), role, 0, 0, 0,
+                    -count.getCount(), count.getCount() - count.getEnded(), count.getEnded());
+        }
+    }
+
+    // CURRENT -> PAST
+    private void applyEnded(BookingCounterRole role, List<BookingTransitionCount> counts) {
+        for (BookingTransitionCount count : counts) {
+            counterRepository.add(count.getUserId(), role, 0, 0, 0,
+                    0, -count.getCount(), count.getCount());
+        }
+    }
+
+    private void add(Long userId, BookingCounterRole role, long[] delta) {
+        counterRepository.add(userId, role, delta[ALL], delta[WAITING], delta[REJECTED],
+                delta[FUTURE], delta[CURRENT], delta[PAST]);
+    }
+
+    private static void addStatus(long[] delta, BookingStatus status, long value) {
+        if (status == BookingStatus.WAITING) {
+            delta[WAITING] += value;
+        } else if (status == BookingStatus.REJECTED || status == BookingStatus.CANCELED) {
+            delta[REJECTED] += value;
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class BookingMapper {
         return Booking.builder()
                 .booker(user)
                 .item(item)
+                .owner(item.getOwner())
                 .start(bookingNewDto.getStart())
                 .end(bookingNewDto.getEnd())
                 .status(BookingStatus.WAITING)
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Миграция V13: заполнение bookings.owner_id из items.owner_id диапазонами id.
+ * Выполняется вне транзакции, каждый пакет фиксируется сразу, поэтому на большой таблице
+ * строки не блокируются на все время миграции, а прерванная миграция продолжается
+ * с незаполненных строк. Flyway получает миграцию бином из контекста Spring
+ */
+@Slf4j
+@Component
+public class BookingOwnerBackfillMigration implements JavaMigration {
+    private static final int BATCH_SIZE = 10_000;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("13");
+    }
+
+    @Override
+    public String getDescription() {
+        return "bookings owner backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long minId;
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery("select min(id), max(id) from bookings")) {
+            range.next();
+            if (range.getObject(1) == null) {
+                return;
+            }
+            minId = range.getLong(1);
+            maxId = range.getLong(2);
+        }
+        long updated = 0;
+        try (PreparedStatement update = connection.prepareStatement(
+                "update bookings set owner_id = (select i.owner_id from items i where i.id = bookings.item_id) " +
+                        "where id between ? and ? and owner_id is null")) {
+            for (long from = minId; from <= maxId; from += BATCH_SIZE) {
+                update.setLong(1, from);
+                update.setLong(2, from + BATCH_SIZE - 1);
+                updated += update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+        log.info("Заполнен владелец вещи у {} бронирований.", updated);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Временная фаза бронирования, хранится в bookings.phase и сдвигается BookingPhaseSweeper
+ */
+public enum BookingPhase {
+    FUTURE, CURRENT, PAST;
+
+    // Фаза бронирования [start, end] на момент now
+    public static BookingPhase of(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (start.isAfter(now)) {
+            return FUTURE;
+        }
+        return end.isBefore(now) ? PAST : CURRENT;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Периодический сдвиг фаз бронирований FUTURE -> CURRENT -> PAST.
+ * Бронирования переводятся пакетами по sweep-batch-size, каждый пакет своей транзакцией,
+ * поэтому блокировки строк короткие. Между сдвигами фаза может отставать от времени
+ * не больше чем на sweep-interval
+ */
+@Slf4j
+@Component
+public class BookingPhaseSweeper {
+    private final BookingRepository bookingRepository;
+    private final int batchSize;
+
+    public BookingPhaseSweeper(
+            BookingRepository bookingRepository,
+            @Value("${shareit.booking-phase.sweep-batch-size:1000}") int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-phase.sweep-interval:PT1M}",
+            initialDelayString = "${shareit.booking-phase.sweep-interval:PT1M}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest batch = PageRequest.of(0, batchSize);
+        // сначала закончившиеся, затем начавшиеся: оставшиеся после первого шага еще не закончились
+        int ended = advance(() -> bookingRepository.findIdsEndedBefore(
+                EnumSet.of(BookingPhase.FUTURE, BookingPhase.CURRENT), now, batch), BookingPhase.PAST);
+        int started = advance(() -> bookingRepository.findIdsStartedBefore(
+                BookingPhase.FUTURE, now, batch), BookingPhase.CURRENT);
+        if (ended + started > 0) {
+            log.debug("Фазы бронирований на {}: {} в PAST, {} в CURRENT.", now, ended, started);
+        }
+    }
+
+    // Перевод выбранных пакетами бронирований в фазу, пока пакет заполнен целиком
+    private int advance(Supplier<List<Long>> nextBatch, BookingPhase phase) {
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = nextBatch.get();
+            if (!ids.isEmpty()) {
+                total += bookingRepository.updatePhase(ids, phase);
+            }
+        } while (ids.size() == batchSize);
+        return total;
+    }
+}
@@ -2,16 +2,28 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingTransitionCount;
+import ru.practicum.shareit.utils.VersionStamp;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    // строк за одно обращение курсора выгрузки
+    int EXPORT_FETCH_SIZE = 500;
 
     // Проверяем, было ли бронирование вещи пользователем
     @Query("select b from Booking as b " +
@@ -23,17 +35,46 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Получение бронирования для владельца или забронировавшего
     @Query("select b " +
             "from Booking as b " +
-            "where b.id=?1 and ( b.booker.id=?2 or b.item.owner.id=?2 )")
+            "where b.id=?1 and ( b.booker.id=?2 or b.owner.id=?2 )")
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findBookingByOwnerOrBooker(Long bookingId, Long finderId);
 
     // Получение бронирования владельцем
-    @Query("select b from Booking as b where b.id=?1 and b.item.owner.id=?2")
+    @Query("select b from Booking as b where b.id=?1 and b.owner.id=?2")
     Optional<Booking> findBookingForApprove(Long bookingId, Long ownerId);
 
+    // Получение набора бронирований владельцем вместе с вещами и забронировавшими одним запросом
+    @Query("select b from Booking as b join fetch b.item join fetch b.booker " +
+            "where b.id in ?1 and b.owner.id=?2 order by b.id asc")
+    List<Booking> findBookingsForApprove(Collection<Long> bookingIds, Long ownerId);
+
+    // Смена статуса набора бронирований одним UPDATE, версия увеличивается для ETag списков
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking as b set b.status=?2, b.version=b.version+1 where b.id in ?1")
+    int updateStatus(Collection<Long> bookingIds, BookingStatus status);
+
+    // Последнее бронирование вещи со статусом, начинающееся раньше указанного момента
+    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId, BookingStatus status,
+                                                                               LocalDateTime dateTime);
+
+    // Интервалы бронирований вещи со статусом, пересекающиеся с [from, to), по индексу (item_id, end_date)
+    @Query("select new ru.practicum.shareit.booking.dto.BookingInterval(b.id, b.start, b.end) " +
+            "from Booking as b " +
+            "where b.item.id=?1 and b.status=?2 and b.end>?3 and b.start<?4 " +
+            "order by b.start asc")
+    List<BookingInterval> findIntervals(Long itemId, BookingStatus status, LocalDateTime from, LocalDateTime to);
+
+    // Интервалы бронирований вещи со статусом, заканчивающиеся после указанного момента
+    @Query("select new ru.practicum.shareit.booking.dto.BookingInterval(b.id, b.start, b.end) " +
+            "from Booking as b " +
+            "where b.item.id=?1 and b.status=?2 and b.end>?3 " +
+            "order by b.start asc")
+    List<BookingInterval> findIntervalsEndingAfter(Long itemId, BookingStatus status, LocalDateTime from);
+
     // Получение следующего бронирования вещи владельца
     @Query("select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id) " +
             "from Booking as b " +
-            "where b.item.id=?1 and b.item.owner.id=?2 and b.status=?3 and b.start>?4 " +
+            "where b.item.id=?1 and b.owner.id=?2 and b.status=?3 and b.start>?4 " +
             "order by b.start asc")
     Page<BookingShort> getNextBooking(Long itemId, Long ownerId, BookingStatus status,
                                       LocalDateTime now, Pageable pageable);
@@ -41,52 +82,148 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Получение последнего бронирования вещи владельца
     @Query("select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id) " +
             "from Booking as b " +
-            "where b.item.id=?1 and b.item.owner.id=?2 and b.status=?3 and b.start<?4 " +
+            "where b.item.id=?1 and b.owner.id=?2 and b.status=?3 and b.start<?4 " +
             "order by b.start desc")
     Page<BookingShort> getLastBooking(Long itemId, Long ownerId, BookingStatus status,
                                       LocalDateTime now, Pageable pageable);
 
+    // Получение последних бронирований для набора вещей владельца одним запросом
+    @Query("select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id, b.item.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.owner.id=?2 and b.status=?3 and b.start<?4 " +
+            "and b.start = (select max(b2.start) from Booking as b2 " +
+            "where b2.item.id=b.item.id and b2.status=?3 and b2.start<?4)")
+    List<BookingShort> getLastBookings(Collection<Long> itemIds, Long ownerId, BookingStatus status,
+                                       LocalDateTime now);
+
+    // Получение следующих бронирований для набора вещей владельца одним запросом
+    @Query("select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id, b.item.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.owner.id=?2 and b.status=?3 and b.start>?4 " +
+            "and b.start = (select min(b2.start) from Booking as b2 " +
+            "where b2.item.id=b.item.id and b2.status=?3 and b2.start>?4)")
+    List<BookingShort> getNextBookings(Collection<Long> itemIds, Long ownerId, BookingStatus status,
+                                       LocalDateTime now);
+
+    // Отметка версии подтвержденных бронирований вещей владельца для ETag списка вещей,
+    // в сумму версий входит число начавшихся: от него зависят последнее и следующее бронирование
+    @Query("select new ru.practicum.shareit.utils.VersionStamp(count(b), coalesce(sum(b.id), 0), " +
+            "coalesce(sum(case when b.start<?3 then 1 else 0 end), 0), coalesce(max(b.version), 0)) " +
+            "from Booking as b " +
+            "where b.owner.id=?1 and b.status=?2")
+    VersionStamp getOwnerItemsBookingsStamp(Long ownerId, BookingStatus status, LocalDateTime now);
+
+    // Пересчет счетчиков бронирований забронировавшего, временные группы на момент rolledAt
+    @Query("select new ru.practicum.shareit.booking.BookingCounter(count(b), " +
+            "coalesce(sum(case when b.status=?2 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.status=?3 or b.status=?4 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.start>?5 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.start<=?5 and b.end>?5 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.end<=?5 then 1 else 0 end), 0)) " +
+            "from Booking as b where b.booker.id=?1")
+    BookingCounter countBookerBookings(Long bookerId, BookingStatus waiting, BookingStatus rejected,
+                                       BookingStatus canceled, LocalDateTime rolledAt);
+
+    // Пересчет счетчиков бронирований вещей владельца, временные группы на момент rolledAt
+    @Query("select new ru.practicum.shareit.booking.BookingCounter(count(b), " +
+            "coalesce(sum(case when b.status=?2 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.status=?3 or b.status=?4 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.start>?5 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.start<=?5 and b.end>?5 then 1 else 0 end), 0), " +
+            "coalesce(sum(case when b.end<=?5 then 1 else 0 end), 0)) " +
+            "from Booking as b where b.owner.id=?1")
+    BookingCounter countOwnerBookings(Long ownerId, BookingStatus waiting, BookingStatus rejected,
+                                      BookingStatus canceled, LocalDateTime rolledAt);
+
+    // Начавшиеся в (from, to] бронирования по забронировавшим: FUTURE -> CURRENT или PAST
+    @Query("select new ru.practicum.shareit.booking.dto.BookingTransitionCount(b.booker.id, count(b), " +
+            "coalesce(sum(case when b.end<=?2 then 1 else 0 end), 0)) " +
+            "from Booking as b where b.start>?1 and b.start<=?2 group by b.booker.id")
+    List<BookingTransitionCount> countBookerStarted(LocalDateTime from, LocalDateTime to);
+
+    // Закончившиеся в (from, to] текущие бронирования по забронировавшим: CURRENT -> PAST
+    @Query("select new ru.practicum.shareit.booking.dto.BookingTransitionCount(b.booker.id, count(b), count(b)) " +
+            "from Booking as b where b.end>?1 and b.end<=?2 and b.start<=?1 group by b.booker.id")
+    List<BookingTransitionCount> countBookerEnded(LocalDateTime from, LocalDateTime to);
+
+    // Начавшиеся в (from, to] бронирования по владельцам вещей
+    @Query("select new ru.practicum.shareit.booking.dto.BookingTransitionCount(b.owner.id, count(b), " +
+            "coalesce(sum(case when b.end<=?2 then 1 else 0 end), 0)) " +
+            "from Booking as b where b.start>?1 and b.start<=?2 group by b.owner.id")
+    List<BookingTransitionCount> countOwnerStarted(LocalDateTime from, LocalDateTime to);
+
+    // Закончившиеся в (from, to] текущие бронирования по владельцам вещей
+    @Query("select new ru.practicum.shareit.booking.dto.BookingTransitionCount(b.owner.id, count(b), count(b)) " +
+            "from Booking as b where b.end>?1 and b.end<=?2 and b.start<=?1 group by b.owner.id")
+    List<BookingTransitionCount> countOwnerEnded(LocalDateTime from, LocalDateTime to);
+
+    // Бронирования в фазах phases, закончившиеся до now: переводятся в PAST
+    @Query("select b.id from Booking as b where b.phase in ?1 and b.end < ?2")
+    List<Long> findIdsEndedBefore(Collection<BookingPhase> phases, LocalDateTime now, Pageable pageable);
+
+    // Бронирования в фазе phase, начавшиеся не позже now: переводятся в CURRENT
+    @Query("select b.id from Booking as b where b.phase = ?1 and b.start <= ?2")
+    List<Long> findIdsStartedBefore(BookingPhase phase, LocalDateTime now, Pageable pageable);
+
+    // Перевод пакета бронирований в фазу, отдельной транзакцией на пакет
+    @Transactional
+    @Modifying
+    @Query("update Booking as b set b.phase=?2 where b.id in ?1")
+    int updatePhase(Collection<Long> ids, BookingPhase phase);
+
     // для ALL
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdOrderByStartDescIdDesc(Long bookerId, Pageable pageable);
 
     // для ALL если owner
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByOwnerIdOrderByStartDescIdDesc(Long ownerId, Pageable pageable);
 
-    // для FUTURE
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime dateTime,
-                                                                 Pageable pageable);
+    // для FUTURE, CURRENT и PAST
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndPhaseOrderByStartDescIdDesc(Long bookerId, BookingPhase phase,
+                                                                  Pageable pageable);
 
-    // для FUTURE если owner
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime dateTime,
-                                                                    Pageable pageable);
+    // для FUTURE, CURRENT и PAST если owner
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByOwnerIdAndPhaseOrderByStartDescIdDesc(Long ownerId, BookingPhase phase, Pageable pageable);
 
     // для WAITING
-    List<Booking> findAllByBookerIdAndStatusEqualsOrderByStartDesc(Long bookerId, BookingStatus status,
-                                                                   Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStatusEqualsOrderByStartDescIdDesc(Long bookerId, BookingStatus status,
+                                                                         Pageable pageable);
 
     // для WAITING если owner
-    List<Booking> findAllByItemOwnerIdAndStatusEqualsOrderByStartDesc(Long ownerId, BookingStatus status,
-                                                                      Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByOwnerIdAndStatusEqualsOrderByStartDescIdDesc(Long ownerId, BookingStatus status,
+                                                                        Pageable pageable);
 
     // для REJECTED
-    List<Booking> findAllByBookerIdAndStatusInOrderByStartDesc(Long bookerId, Set<BookingStatus> statusSet,
-                                                               Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStatusInOrderByStartDescIdDesc(Long bookerId, Set<BookingStatus> statusSet,
+                                                                     Pageable pageable);
 
     // для REJECTED если owner
-    List<Booking> findAllByItemOwnerIdAndStatusInOrderByStartDesc(Long ownerId, Set<BookingStatus> statusSet,
-                                                                  Pageable pageable);
-
-    // для CURRENT
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime now1,
-                                                                             LocalDateTime now2, Pageable pageable);
-
-    // для CURRENT если owner
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime now1,
-                                                                                LocalDateTime now2, Pageable pageable);
-
-    // для PAST
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByOwnerIdAndStatusInOrderByStartDescIdDesc(Long ownerId, Set<BookingStatus> statusSet,
+                                                                    Pageable pageable);
 
-    // для PAST если owner
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageable);
+    // Все бронирования забронировавшего для выгрузки: курсор базы вместо страниц,
+    // сущности только для чтения, без снимков для dirty checking
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select b from Booking as b join fetch b.item join fetch b.booker " +
+            "where b.booker.id=?1 order by b.start desc, b.id desc")
+    Stream<Booking> streamAllByBookerId(Long bookerId);
+
+    // Все бронирования вещей владельца для выгрузки
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select b from Booking as b join fetch b.item join fetch b.booker " +
+            "where b.owner.id=?1 order by b.start desc, b.id desc")
+    Stream<Booking> streamAllByOwnerId(Long ownerId);
 }
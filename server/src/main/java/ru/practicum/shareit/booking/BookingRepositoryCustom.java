@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.utils.PageCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    // Бронирования бронирующего или владельца по State
+    // постранично по ключу (start, id) в порядке убывания
+    List<Booking> findAllByState(long userId, boolean owner, State state, PageCursor after, int limit);
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.utils.PageCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Booking> findAllByState(long userId, boolean owner, State state, PageCursor after, int limit) {
+        // вещь и бронирующий нужны для BookingDto, выбираются тем же запросом
+        StringBuilder jpql = new StringBuilder("select b from Booking as b " +
+                "join fetch b.item join fetch b.booker where ");
+        Map<String, Object> params = new HashMap<>();
+
+        jpql.append(owner ? "b.owner.id = :userId" : "b.booker.id = :userId");
+        params.put("userId", userId);
+
+        switch (state) {
+            case WAITING:
+                jpql.append(" and b.status = :status");
+                params.put("status", BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                jpql.append(" and b.status in :statuses");
+                params.put("statuses", EnumSet.of(BookingStatus.REJECTED, BookingStatus.CANCELED));
+                break;
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+                // фаза материализована в bookings.phase, сравнения с текущим моментом не нужны
+                jpql.append(" and b.phase = :phase");
+                params.put("phase", BookingPhase.valueOf(state.name()));
+                break;
+            case ALL:
+            default:
+                break;
+        }
+
+        if (after != null) {
+            jpql.append(" and (b.start < :afterStart or (b.start = :afterStart and b.id < :afterId))");
+            params.put("afterStart", after.getPosition());
+            params.put("afterId", after.getId());
+        }
+        jpql.append(" order by b.start desc, b.id desc");
+
+        TypedQuery<Booking> query = em.createQuery(jpql.toString(), Booking.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -2,17 +2,42 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.Versioned;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto createBooking(Long userId, BookingNewDto bookingNewDto);
 
     BookingDto approve(Long userId, boolean approve, Long bookingId);
 
+    List<BookingDto> approveAll(Long userId, boolean approve, List<Long> bookingIds);
+
     BookingDto getBooking(Long userId, Long bookingId);
 
     List<BookingDto> getAllBookings(long userId, String stateS, int from, int size);
 
     List<BookingDto> getAllBookingsForOwner(long userId, String stateS, int from, int size);
+
+    CursorPage<BookingDto> getAllBookings(long userId, String stateS, String cursor, int size);
+
+    CursorPage<BookingDto> getAllBookingsForOwner(long userId, String stateS, String cursor, int size);
+
+    Versioned<List<BookingDto>> getAllBookingsVersioned(long userId, String stateS, int from, int size);
+
+    Versioned<List<BookingDto>> getAllBookingsForOwnerVersioned(long userId, String stateS, int from, int size);
+
+    Versioned<CursorPage<BookingDto>> getAllBookingsVersioned(long userId, String stateS, String cursor, int size);
+
+    Versioned<CursorPage<BookingDto>> getAllBookingsForOwnerVersioned(long userId, String stateS,
+                                                                      String cursor, int size);
+
+    BookingSummaryDto getBookingsSummary(long userId);
+
+    BookingSummaryDto getOwnerBookingsSummary(long userId);
+
+    void exportBookings(long userId, boolean owner, Consumer<BookingDto> consumer);
 }
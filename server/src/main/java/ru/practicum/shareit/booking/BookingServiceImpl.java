@@ -5,20 +5,35 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.PageCursor;
+import ru.practicum.shareit.utils.VersionStamp;
+import ru.practicum.shareit.utils.Versioned;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +43,9 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final BookingCounters counters;
+    private final EntityManager entityManager;
 
     // Создание бронирования
     @Override
@@ -45,8 +63,10 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException(
                     String.format("Вещь c id=%d не доступна для бронирования.", bookingNewDto.getItemId()));
         }
+        checkOverlap(item.getId(), bookingNewDto.getStart(), bookingNewDto.getEnd());
         Booking booking = BookingMapper.dtoToBooking(bookingNewDto, item, user);
         Booking saved = bookingRepository.save(booking);
+        counters.created(saved);
         return BookingMapper.bookingToDto(saved);
     }
 
@@ -65,13 +85,56 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenException("У вас нет прав для изменения статуса бронирования.");
         }
         if (approve) {
+            itemRepository.lockById(booking.getItem().getId());
+            checkOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            counters.statusChanged(List.of(booking), BookingStatus.APPROVED);
             booking.setStatus(BookingStatus.APPROVED);
+            availabilityIndex.approved(booking.getItem().getId(), toInterval(booking));
         } else {
+            if (booking.getStatus() == BookingStatus.APPROVED) {
+                availabilityIndex.released(booking.getItem().getId(), toInterval(booking));
+            }
+            counters.statusChanged(List.of(booking), BookingStatus.REJECTED);
             booking.setStatus(BookingStatus.REJECTED);
         }
         return BookingMapper.bookingToDto(bookingRepository.save(booking));
     }
 
+    // Подтверждение или отклонение набора бронирований владельцем:
+    // одна выборка с проверкой владельца и одно пакетное обновление статуса
+    @Override
+    @Transactional
+    public List<BookingDto> approveAll(Long userId, boolean approve, List<Long> bookingIds) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        if (ids.isEmpty()) {
+            throw new BadRequestException("Список бронирований не должен быть пустым.");
+        }
+        List<Booking> bookings = bookingRepository.findBookingsForApprove(ids, userId);
+        if (bookings.size() != ids.size()) {
+            bookings.forEach(booking -> ids.remove(booking.getId()));
+            throw new NotFoundException(String.format("Бронирования c id=%s не найдены.", ids));
+        }
+        if (approve) {
+            if (bookings.stream().anyMatch(booking -> booking.getStatus() == BookingStatus.APPROVED)) {
+                throw new BadRequestException("Бронирование уже имеет устанавливаемый статус.");
+            }
+            checkBatchOverlap(bookings);
+        }
+        BookingStatus status = approve ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        counters.statusChanged(bookings, status);
+        bookingRepository.updateStatus(ids, status);
+        // после UPDATE контекст очищен, статус меняется у отсоединенных сущностей только для ответа
+        for (Booking booking : bookings) {
+            if (approve) {
+                availabilityIndex.approved(booking.getItem().getId(), toInterval(booking));
+            } else if (booking.getStatus() == BookingStatus.APPROVED) {
+                availabilityIndex.released(booking.getItem().getId(), toInterval(booking));
+            }
+            booking.setStatus(status);
+        }
+        return BookingMapper.bookingToDto(bookings);
+    }
+
     // Вернуть бронирование для бронирующего или владельца
     @Override
     public BookingDto getBooking(Long userId, Long bookingId) {
@@ -84,70 +147,119 @@ public class BookingServiceImpl implements BookingService {
     // Вернуть все бронирования вещи бронирующего
     @Override
     public List<BookingDto> getAllBookings(long userId, String stateS, int from, int size) {
-        State state = checkState(stateS);
-        checkUser(userId);
-        PageRequest pageRequest = getPageRequest(from, size);
-        LocalDateTime now = LocalDateTime.now();
-        switch (state) {
-            case WAITING:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdAndStatusEqualsOrderByStartDesc(userId,
-                                BookingStatus.WAITING, pageRequest));
-            case CURRENT:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                                now, now, pageRequest));
-            case REJECTED:
-                Set<BookingStatus> statusSet = EnumSet.of(BookingStatus.REJECTED,
-                        BookingStatus.CANCELED);
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdAndStatusInOrderByStartDesc(userId, statusSet, pageRequest));
-            case PAST:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageRequest));
-            case FUTURE:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageRequest));
-            case ALL:
-            default:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByBookerIdOrderByStartDesc(userId, pageRequest));
-        }
+        return BookingMapper.bookingToDto(findAllByPage(userId, false, stateS, getPageRequest(from, size)));
     }
 
     // Вернуть все бронирования вещи для владельца
     @Override
     public List<BookingDto> getAllBookingsForOwner(long userId, String stateS, int from, int size) {
+        return BookingMapper.bookingToDto(findAllByPage(userId, true, stateS, getPageRequest(from, size)));
+    }
+
+    // Вернуть бронирования бронирующего постранично по курсору
+    @Override
+    public CursorPage<BookingDto> getAllBookings(long userId, String stateS, String cursor, int size) {
+        return toCursorPage(findAllByCursor(userId, false, stateS, cursor, size), size);
+    }
+
+    // Вернуть бронирования владельца постранично по курсору
+    @Override
+    public CursorPage<BookingDto> getAllBookingsForOwner(long userId, String stateS, String cursor, int size) {
+        return toCursorPage(findAllByCursor(userId, true, stateS, cursor, size), size);
+    }
+
+    // Страница бронирований бронирующего вместе с отметкой версии ее строк для ETag
+    @Override
+    public Versioned<List<BookingDto>> getAllBookingsVersioned(long userId, String stateS, int from, int size) {
+        List<Booking> bookings = findAllByPage(userId, false, stateS, getPageRequest(from, size));
+        return new Versioned<>(getVersion(bookings), BookingMapper.bookingToDto(bookings));
+    }
+
+    // Страница бронирований вещей владельца вместе с отметкой версии ее строк для ETag
+    @Override
+    public Versioned<List<BookingDto>> getAllBookingsForOwnerVersioned(long userId, String stateS,
+                                                                       int from, int size) {
+        List<Booking> bookings = findAllByPage(userId, true, stateS, getPageRequest(from, size));
+        return new Versioned<>(getVersion(bookings), BookingMapper.bookingToDto(bookings));
+    }
+
+    // Страница бронирований бронирующего по курсору вместе с отметкой версии ее строк для ETag
+    @Override
+    public Versioned<CursorPage<BookingDto>> getAllBookingsVersioned(long userId, String stateS,
+                                                                     String cursor, int size) {
+        List<Booking> bookings = findAllByCursor(userId, false, stateS, cursor, size);
+        return new Versioned<>(getVersion(bookings), toCursorPage(bookings, size));
+    }
+
+    // Страница бронирований вещей владельца по курсору вместе с отметкой версии ее строк для ETag
+    @Override
+    public Versioned<CursorPage<BookingDto>> getAllBookingsForOwnerVersioned(long userId, String stateS,
+                                                                             String cursor, int size) {
+        List<Booking> bookings = findAllByCursor(userId, true, stateS, cursor, size);
+        return new Versioned<>(getVersion(bookings), toCursorPage(bookings, size));
+    }
+
+    // Бронирования бронирующего или владельца по State постранично по смещению
+    private List<Booking> findAllByPage(long userId, boolean owner, String stateS, PageRequest pageRequest) {
         State state = checkState(stateS);
         checkUser(userId);
-        PageRequest pageRequest = getPageRequest(from, size);
-        LocalDateTime now = LocalDateTime.now();
-
+        Set<BookingStatus> rejected = EnumSet.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+        if (owner) {
+            switch (state) {
+                case WAITING:
+                    return bookingRepository.findAllByOwnerIdAndStatusEqualsOrderByStartDescIdDesc(userId,
+                            BookingStatus.WAITING, pageRequest);
+                case REJECTED:
+                    return bookingRepository.findAllByOwnerIdAndStatusInOrderByStartDescIdDesc(userId,
+                            rejected, pageRequest);
+                case CURRENT:
+                case PAST:
+                case FUTURE:
+                    return bookingRepository.findAllByOwnerIdAndPhaseOrderByStartDescIdDesc(userId,
+                            BookingPhase.valueOf(state.name()), pageRequest);
+                case ALL:
+                default:
+                    return bookingRepository.findAllByOwnerIdOrderByStartDescIdDesc(userId, pageRequest);
+            }
+        }
         switch (state) {
             case WAITING:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByItemOwnerIdAndStatusEqualsOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest));
-            case CURRENT:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                                now, now, pageRequest));
+                return bookingRepository.findAllByBookerIdAndStatusEqualsOrderByStartDescIdDesc(userId,
+                        BookingStatus.WAITING, pageRequest);
             case REJECTED:
-                Set<BookingStatus> statusSet = EnumSet.of(BookingStatus.REJECTED,
-                        BookingStatus.CANCELED);
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByItemOwnerIdAndStatusInOrderByStartDesc(userId, statusSet, pageRequest));
+                return bookingRepository.findAllByBookerIdAndStatusInOrderByStartDescIdDesc(userId,
+                        rejected, pageRequest);
+            case CURRENT:
             case PAST:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, pageRequest));
             case FUTURE:
-                return BookingMapper.bookingToDto(bookingRepository
-                        .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, pageRequest));
+                return bookingRepository.findAllByBookerIdAndPhaseOrderByStartDescIdDesc(userId,
+                        BookingPhase.valueOf(state.name()), pageRequest);
             case ALL:
             default:
-                return BookingMapper.bookingToDto(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, pageRequest));
+                return bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(userId, pageRequest);
         }
     }
 
+    // Бронирования бронирующего или владельца по State постранично по ключу (start, id)
+    private List<Booking> findAllByCursor(long userId, boolean owner, String stateS, String cursor, int size) {
+        State state = checkState(stateS);
+        PageCursor after = PageCursor.decodeWithPosition(cursor);
+        checkUser(userId);
+        return bookingRepository.findAllByState(userId, owner, state, after, size);
+    }
+
+    private CursorPage<BookingDto> toCursorPage(List<Booking> bookings, int size) {
+        return CursorPage.of(bookings, size,
+                b -> PageCursor.of(b.getStart(), b.getId()), BookingMapper::bookingToDto);
+    }
+
+    // Отметка версии строк страницы: бронирование, его вещь и бронирующий,
+    // названия вещи и имени бронирующего есть в BookingDto
+    private String getVersion(List<Booking> bookings) {
+        return VersionStamp.ofRows(bookings, b -> b.getId() + "." + b.getVersion() + "." +
+                b.getItem().getVersion() + "." + b.getBooker().getVersion());
+    }
+
     private State checkState(String state) {
         try {
             return State.valueOf(state);
@@ -161,10 +273,81 @@ public class BookingServiceImpl implements BookingService {
         return PageRequest.of(page, size);
     }
 
+    // Число бронирований пользователя по State
+    @Override
+    @Transactional
+    public BookingSummaryDto getBookingsSummary(long userId) {
+        checkUser(userId);
+        return counters.summary(userId, BookingCounterRole.BOOKER);
+    }
+
+    // Число бронирований вещей владельца по State
+    @Override
+    @Transactional
+    public BookingSummaryDto getOwnerBookingsSummary(long userId) {
+        checkUser(userId);
+        return counters.summary(userId, BookingCounterRole.OWNER);
+    }
+
+    // Выгрузка всех бронирований пользователя без страниц: строки читаются курсором,
+    // контекст очищается после каждой порции, память не растет с числом бронирований
+    @Override
+    public void exportBookings(long userId, boolean owner, Consumer<BookingDto> consumer) {
+        checkUser(userId);
+        try (Stream<Booking> bookings = owner
+                ? bookingRepository.streamAllByOwnerId(userId)
+                : bookingRepository.streamAllByBookerId(userId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(BookingMapper.bookingToDto(iterator.next()));
+                if (++count % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     // Проверка пользователя по id
     private void checkUser(long userId) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException(String.format("Пользователь c id=%d не найден.", userId));
         }
     }
+
+    private static BookingInterval toInterval(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    // Проверка пересечений для пакетного подтверждения: вещи блокируются одним запросом,
+    // подтверждаемые бронирования одной вещи не должны пересекаться и между собой
+    private void checkBatchOverlap(List<Booking> bookings) {
+        Map<Long, List<Booking>> byItem = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        itemRepository.lockAllById(byItem.keySet());
+        byItem.forEach((itemId, itemBookings) -> {
+            itemBookings.sort(Comparator.comparing(Booking::getStart));
+            Booking previous = null;
+            for (Booking booking : itemBookings) {
+                if (previous != null && booking.getStart().isBefore(previous.getEnd())) {
+                    throw new ConflictException(String.format(
+                            "Бронирования c id=%d и id=%d пересекаются.", previous.getId(), booking.getId()));
+                }
+                checkOverlap(itemId, booking.getStart(), booking.getEnd());
+                previous = booking;
+            }
+        });
+    }
+
+    // Проверка пересечения интервала [start, end) с подтвержденными бронированиями вещи.
+    // Подтвержденные бронирования вещи не пересекаются между собой, поэтому пересечься может
+    // только последнее из начавшихся до end: одна проба по индексу (item_id, status, start_date)
+    private void checkOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(itemId, BookingStatus.APPROVED, end)
+                .filter(b -> b.getEnd().isAfter(start))
+                .ifPresent(b -> {
+                    throw new ConflictException(
+                            String.format("Вещь c id=%d уже забронирована на этот период.", itemId));
+                });
+    }
 }
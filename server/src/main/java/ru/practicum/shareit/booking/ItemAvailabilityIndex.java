@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Индекс подтвержденных бронирований по вещам для календаря доступности.
+ * Подтвержденные бронирования вещи не пересекаются, поэтому для вещи хранится
+ * упорядоченное по началу дерево интервалов, закончившихся не раньше загрузки.
+ * Изменения вносятся из BookingServiceImpl после фиксации транзакции, запись вещи, которую
+ * не удалось изменить, сбрасывается и загружается заново.
+ * Время жизни записи ограничивает расхождение с изменениями на других экземплярах сервера
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> items;
+
+    public ItemAvailabilityIndex(
+            BookingRepository bookingRepository,
+            @Value("${shareit.availability.max-items:10000}") long maxItems,
+            @Value("${shareit.availability.ttl:1m}") Duration ttl
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("Индекс доступности вещей: размер {}, время жизни {}.", maxItems, ttl);
+    }
+
+    // Подтвержденные бронирования вещи, пересекающиеся с [from, to), по возрастанию начала
+    public List<BookingInterval> findBusy(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemIntervals intervals = items.get(itemId, this::load);
+        if (from.isBefore(intervals.loadedFrom)) {
+            // прошлое до загрузки в индексе не хранится, окно выбирается из базы
+            return bookingRepository.findIntervals(itemId, BookingStatus.APPROVED, from, to);
+        }
+        return intervals.find(from, to);
+    }
+
+    // Бронирование вещи подтверждено
+    public void approved(Long itemId, BookingInterval interval) {
+        afterCommit(itemId, intervals -> intervals.add(interval));
+    }
+
+    // Подтверждение бронирования вещи снято
+    public void released(Long itemId, BookingInterval interval) {
+        afterCommit(itemId, intervals -> intervals.remove(interval));
+    }
+
+    private ItemIntervals load(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemIntervals intervals = new ItemIntervals(now);
+        bookingRepository.findIntervalsEndingAfter(itemId, BookingStatus.APPROVED, now)
+                .forEach(interval -> intervals.byStart.put(interval.getStart(), interval));
+        return intervals;
+    }
+
+    // Изменение индекса только после успешной фиксации, без транзакции - сразу.
+    // Если исход транзакции неизвестен, запись вещи сбрасывается
+    private void afterCommit(Long itemId, Predicate<ItemIntervals> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(itemId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(itemId, change);
+                } else if (status == STATUS_UNKNOWN) {
+                    items.invalidate(itemId);
+                }
+            }
+        });
+    }
+
+    // computeIfPresent дожидается загрузки записи, начатой до фиксации, и применяет изменение к ней:
+    // такая загрузка могла не увидеть изменение. Неприменимое изменение сбрасывает запись
+    private void apply(Long itemId, Predicate<ItemIntervals> change) {
+        try {
+            items.asMap().computeIfPresent(itemId, (id, intervals) -> change.test(intervals) ? intervals : null);
+        } catch (RuntimeException e) {
+            log.warn("Запись индекса доступности вещи {} сброшена: {}", itemId, e.getMessage());
+            items.invalidate(itemId);
+        }
+    }
+
+    private static class ItemIntervals {
+        private final LocalDateTime loadedFrom;
+        private final ConcurrentSkipListMap<LocalDateTime, BookingInterval> byStart = new ConcurrentSkipListMap<>();
+
+        private ItemIntervals(LocalDateTime loadedFrom) {
+            this.loadedFrom = loadedFrom;
+        }
+
+        // Добавление интервала, false - по тому же началу уже есть другой интервал
+        private boolean add(BookingInterval interval) {
+            BookingInterval previous = byStart.putIfAbsent(interval.getStart(), interval);
+            return previous == null || previous.equals(interval);
+        }
+
+        // Удаление интервала, false - по тому же началу лежит другой интервал
+        private boolean remove(BookingInterval interval) {
+            BookingInterval current = byStart.get(interval.getStart());
+            return current == null || byStart.remove(interval.getStart(), interval);
+        }
+
+        // Интервалы не пересекаются: начало from может накрыть только ближайший начавшийся не позже from
+        private List<BookingInterval> find(LocalDateTime from, LocalDateTime to) {
+            Map.Entry<LocalDateTime, BookingInterval> floor = byStart.floorEntry(from);
+            LocalDateTime first = floor != null ? floor.getKey() : from;
+            List<BookingInterval> result = new ArrayList<>();
+            for (BookingInterval interval : byStart.subMap(first, true, to, false).values()) {
+                if (interval.getEnd().isAfter(from)) {
+                    result.add(interval);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал бронирования [start, end) для календаря доступности вещи
+ */
+@Getter
+@EqualsAndHashCode
+public class BookingInterval {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    // конструктор для выборки через JPQL
+    public BookingInterval(Long id, LocalDateTime start, LocalDateTime end) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,9 +10,19 @@ public class BookingShort {
     private Long id;
     private Long bookerId;
 
+    // id вещи нужен только для сопоставления при пакетной выборке
+    @JsonIgnore
+    private Long itemId;
+
     // Lombok AllArgsConstructor не отображается c JPQL
     public BookingShort(Long id, Long bookerId) {
         this.id = id;
         this.bookerId = bookerId;
     }
+
+    public BookingShort(Long id, Long bookerId, Long itemId) {
+        this.id = id;
+        this.bookerId = bookerId;
+        this.itemId = itemId;
+    }
 }
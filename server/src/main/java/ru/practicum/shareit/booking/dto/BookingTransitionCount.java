@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+
+/**
+ * Число бронирований пользователя, перешедших между FUTURE, CURRENT и PAST за период сдвига:
+ * count - всего, ended - из них уже закончившихся
+ */
+@Getter
+public class BookingTransitionCount {
+    private final Long userId;
+    private final long count;
+    private final long ended;
+
+    // конструктор для выборки через JPQL
+    public BookingTransitionCount(Long userId, Long count, Long ended) {
+        this.userId = userId;
+        this.count = count;
+        this.ended = ended;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.State;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Добавляет к метрике http.server.requests тег state, чтобы время выборок бронирований
+ * было видно отдельно по каждому состоянию
+ */
+@Component
+public class BookingStateTagsContributor implements WebMvcTagsContributor {
+    public static final String STATE_TAG = "state";
+    // значение тега для запросов без параметра state
+    public static final String NONE = "NONE";
+    // значение тега для неизвестного состояния
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final Set<String> STATES = Arrays.stream(State.values())
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response,
+                                 Object handler, Throwable exception) {
+        return Tags.of(STATE_TAG, stateTag(request.getParameter(STATE_TAG)));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+
+    // Значения тега ограничены списком State, произвольная строка из запроса в тег не попадает
+    static String stateTag(String state) {
+        if (state == null) {
+            return NONE;
+        }
+        return STATES.contains(state) ? state : UNKNOWN;
+    }
+}
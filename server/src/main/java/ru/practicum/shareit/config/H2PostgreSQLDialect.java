@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+
+/**
+ * Диалект PostgreSQL для тестовой базы H2: H2 не поддерживает select ... for share,
+ * поэтому разделяемая блокировка (PESSIMISTIC_READ) заменяется исключительной
+ */
+public class H2PostgreSQLDialect extends PostgreSQL10Dialect {
+
+    @Override
+    public String getReadLockString(int timeout) {
+        return getWriteLockString(timeout);
+    }
+
+    @Override
+    public String getReadLockString(String aliases, int timeout) {
+        return getWriteLockString(aliases, timeout);
+    }
+}
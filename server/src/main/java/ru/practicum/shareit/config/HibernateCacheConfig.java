@@ -0,0 +1,80 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate на Caffeine (JCache) для User, Item и ItemRequest.
+ * Записи обновляются и удаляются самим Hibernate при изменении сущностей (READ_WRITE)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String ITEMS_REGION = "items";
+    public static final String REQUESTS_REGION = "requests";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${shareit.cache.max-size:10000}") long maxSize,
+            @Value("${shareit.cache.ttl:10m}") Duration ttl
+    ) {
+        // Отдельный менеджер на каждый контекст: провайдер хранит менеджеры по URI,
+        // закрытие одного контекста не должно закрывать кэш другого
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-hibernate-" + UUID.randomUUID()),
+                        HibernateCacheConfig.class.getClassLoader());
+        for (String region : List.of(USERS_REGION, ITEMS_REGION, REQUESTS_REGION)) {
+            cacheManager.createCache(region, regionConfiguration(maxSize, ttl));
+        }
+        log.info("Кэш второго уровня: регионов {}, размер {}, время жизни {}.",
+                cacheManager.getCacheNames(), maxSize, ttl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            @Value("${shareit.cache.statistics:false}") boolean statistics
+    ) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            // кэшируемых запросов нет, кэш запросов только добавлял бы проверки меток таблиц
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // регионы, не созданные выше, создаются без ограничений
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            if (statistics) {
+                // попадания и промахи по регионам
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реплики базы для транзакций только для чтения (shareit.datasource.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReplicaDataSourceProperties {
+    private List<Replica> replicas = new ArrayList<>();
+
+    // отставание, после которого чтение с реплики переходит на основную базу
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // запрос отставания реплики в секундах, без него проверяется только соединение
+    private String lagQuery;
+
+    // интервал проверки реплик, проверка идет своим потоком и не зависит от shareit.scheduling.enabled
+    private Duration replicaCheckInterval = Duration.ofSeconds(5);
+
+    // пути, чтение по которым всегда идет с основной базы: их ответы кэшируют шлюз
+    // и индекс доступности вещей, кэш не должен заполняться с отстающей реплики
+    private List<String> primaryPaths = new ArrayList<>(List.of("/users", "/items", "/requests"));
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+
+        // без указания берутся из spring.datasource
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Один источник чтения на HTTP-запрос: ETag и страница, которые читаются разными транзакциями,
+ * видят одну реплику. Запросы по primaryPaths читают основную базу
+ */
+public class ReplicaPinningFilter extends OncePerRequestFilter {
+    private final ReplicaRoutingDataSource routing;
+    private final List<String> primaryPaths;
+
+    public ReplicaPinningFilter(ReplicaRoutingDataSource routing, List<String> primaryPaths) {
+        this.routing = routing;
+        this.primaryPaths = primaryPaths;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean primary = primaryPaths.stream()
+                .anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+        routing.pin(primary);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            routing.unpin();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Чтение с реплик: включается заданием shareit.datasource.replicas[0].url.
+ * Основной пул настраивается как обычно через spring.datasource.*, пулы реплик
+ * копируют его настройки с адресом реплики и режимом только для чтения
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaDataSourceProperties properties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Replica replica : properties.getReplicas()) {
+            // пул открывается при первом запросе: недоступная реплика не мешает запуску
+            HikariDataSource dataSource = new HikariDataSource();
+            primaryDataSource.copyStateTo(dataSource);
+            dataSource.setPoolName("shareit-replica-" + replicas.size());
+            dataSource.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                dataSource.setUsername(replica.getUsername());
+                dataSource.setPassword(replica.getPassword());
+            }
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        log.info("Чтение с реплик: {}, допустимое отставание {}, только с основной базы: {}.",
+                replicas.size(), properties.getMaxLag(), properties.getPrimaryPaths());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                properties.getMaxLag(), properties.getLagQuery(), properties.getReplicaCheckInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaPinningFilter> replicaPinningFilter(
+            ReplicaRoutingDataSource replicaRoutingDataSource, ReplicaDataSourceProperties properties) {
+        return new FilterRegistrationBean<>(
+                new ReplicaPinningFilter(replicaRoutingDataSource, properties.getPrimaryPaths()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Транзакции только для чтения идут на доступные реплики по кругу, остальные - на основную базу.
+ * Реплика, которая не отвечает или отстает больше maxLag, исключается до следующей успешной
+ * проверки, тогда чтение идет на основную базу. Реплики проверяются своим потоком каждые
+ * checkInterval, независимо от shareit.scheduling.enabled, а ошибка соединения исключает реплику сразу.
+ * За HTTP-запросом источник чтения закрепляется через pin(): основная база или одна реплика на все
+ * его транзакции. Соединение выбирается в момент запроса, поэтому источник оборачивается
+ * в LazyConnectionDataSourceProxy: признак readOnly транзакции устанавливается позже открытия сессии
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<Pin> pinned = new ThreadLocal<>();
+    private final ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    Duration maxLag, String lagQuery, Duration checkInterval) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            targets.put(replica.key, replica.dataSource);
+            replicas.add(replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        // нулевой интервал - без периодической проверки, исключенная реплика не возвращается
+        if (checkInterval.isZero() || checkInterval.isNegative()) {
+            checker = null;
+        } else {
+            checker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "shareit-replica-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checker.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toMillis(),
+                    checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Закрепить источник чтения за текущим потоком до unpin(): основную базу или первую выбранную реплику
+    public void pin(boolean primary) {
+        pinned.set(new Pin(primary));
+    }
+
+    public void unpin() {
+        pinned.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = readReplica();
+        return replica != null ? replica.key : PRIMARY;
+    }
+
+    // Реплика, на которую не удалось открыть соединение, исключается, чтение идет с основной базы
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = readReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            if (replica.available) {
+                log.warn("Реплика {} исключена: {}", replica.key, e.getMessage());
+            }
+            replica.available = false;
+            return primary.getConnection();
+        }
+    }
+
+    // Проверка соединения и отставания реплик
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available = isAvailable(replica);
+            if (available != replica.available) {
+                log.warn("Реплика {} {}.", replica.key, available ? "снова используется для чтения" : "исключена");
+            }
+            replica.available = available;
+        }
+    }
+
+    // Реплика для транзакции только для чтения, null - основная база
+    private Replica readReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        Pin pin = pinned.get();
+        if (pin == null) {
+            return nextAvailable();
+        }
+        if (!pin.chosen) {
+            pin.replica = pin.primary ? null : nextAvailable();
+            pin.chosen = true;
+        } else if (pin.replica != null && !pin.replica.available) {
+            // закрепленная реплика исключена: остаток запроса читает основную базу
+            pin.replica = null;
+        }
+        return pin.replica;
+    }
+
+    private Replica nextAvailable() {
+        List<Replica> available = replicas.stream()
+                .filter(replica -> replica.available)
+                .collect(Collectors.toList());
+        if (available.isEmpty()) {
+            return null;
+        }
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+    }
+
+    // Пулы реплик создаются вместе с источником и закрываются вместе с ним
+    @Override
+    public void destroy() throws Exception {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    private boolean isAvailable(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(lagQuery)) {
+                return lag.next() && lag.getDouble(1) * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            log.warn("Реплика {} недоступна: {}", replica.key, e.getMessage());
+            return false;
+        }
+    }
+
+    private static class Pin {
+        private final boolean primary;
+        private boolean chosen;
+        private Replica replica;
+
+        private Pin(boolean primary) {
+            this.primary = primary;
+        }
+    }
+
+    private static class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exceptions;
+
+// для кода 409 (Conflict)
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
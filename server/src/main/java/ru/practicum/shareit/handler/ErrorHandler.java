@@ -1,6 +1,7 @@
 package ru.practicum.shareit.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -60,6 +61,22 @@ public class ErrorHandler {
         return new ErrorMessage(e.getMessage());
     }
 
+    // 409
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage handleConflictException(final ConflictException e) {
+        log.warn(e.getMessage());
+        return new ErrorMessage(e.getMessage());
+    }
+
+    // 409, например нарушение ограничения на пересечение подтвержденных бронирований
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage handleDataIntegrityViolationException(final DataIntegrityViolationException e) {
+        log.warn(e.getMessage());
+        return new ErrorMessage("Нарушено ограничение целостности данных.");
+    }
+
     // 500
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
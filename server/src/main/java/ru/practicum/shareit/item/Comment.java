@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import lombok.*;
+import ru.practicum.shareit.item.dto.CommentShort;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -13,6 +14,25 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(name = "comments")
+// Последние limit комментариев каждой вещи, по возрастанию (item_id, created)
+@NamedNativeQuery(name = "Comment.findLastCommentsByItemIds",
+        query = "select c.item_id, c.id, c.text, u.name as author_name, c.created " +
+                "from (select cm.*, row_number() over (partition by cm.item_id " +
+                "order by cm.created desc, cm.id desc) as rn " +
+                "from comments as cm where cm.item_id in (?1)) as c " +
+                "join users as u on u.id = c.author_id " +
+                "where c.rn <= ?2 " +
+                "order by c.item_id, c.created, c.id",
+        resultSetMapping = "CommentShort")
+@SqlResultSetMapping(name = "CommentShort", classes = @ConstructorResult(
+        targetClass = CommentShort.class,
+        columns = {
+                @ColumnResult(name = "item_id", type = Long.class),
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "text", type = String.class),
+                @ColumnResult(name = "author_name", type = String.class),
+                @ColumnResult(name = "created", type = LocalDateTime.class)
+        }))
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
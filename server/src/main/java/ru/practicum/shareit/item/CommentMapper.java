@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.CommentShort;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -30,6 +31,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentDto commentToDto(CommentShort comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .authorName(comment.getAuthorName())
+                .created(comment.getCreated())
+                .text(comment.getText())
+                .build();
+    }
+
     public static List<CommentDto> commentToDto(List<Comment> comments) {
         return comments.stream()
                 .map(CommentMapper::commentToDto)
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.utils.VersionStamp;
 
-import java.util.Collection;
 import java.util.List;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
     // Возвращаем комментарии для вещи
     List<Comment> findCommentsByItemIdOrderByCreatedAsc(Long itemId);
 
-    // Возвращаем комментарии для вещей по ids
-    List<Comment> findCommentsByItemIsIn(Collection<Item> items);
+    // Отметка версии комментариев к вещам владельца для ETag списка вещей,
+    // версия автора входит в отметку: его имя есть в CommentDto
+    @Query("select new ru.practicum.shareit.utils.VersionStamp(count(c), coalesce(sum(c.id), 0), " +
+            "coalesce(sum(a.version), 0), coalesce(max(a.version), 0)) " +
+            "from Comment as c join c.author as a where c.item.owner.id=?1")
+    VersionStamp getOwnerItemsCommentsStamp(Long ownerId);
 }
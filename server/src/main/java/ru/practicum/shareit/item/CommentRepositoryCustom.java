@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.CommentShort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    // Возвращаем последние limit комментариев каждой вещи по ids,
+    // упорядоченные по (item_id, created), запрос Comment.findLastCommentsByItemIds
+    List<CommentShort> findLastCommentsByItemIds(Collection<Long> itemIds, int limit);
+}
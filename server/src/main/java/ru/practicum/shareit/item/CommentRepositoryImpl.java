@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.CommentShort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    // Запрос выполняется напрямую: метод Spring Data с DTO в результате выполнялся бы
+    // как запрос кортежей и не совпадал бы с @ConstructorResult маппингом CommentShort
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CommentShort> findLastCommentsByItemIds(Collection<Long> itemIds, int limit) {
+        return em.createNamedQuery("Comment.findLastCommentsByItemIds")
+                .setParameter(1, itemIds)
+                .setParameter(2, limit)
+                .getResultList();
+    }
+}
@@ -1,14 +1,26 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.VersionStamp;
+import ru.practicum.shareit.utils.Versioned;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -17,6 +29,7 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping(value = "/{itemId}/comment")
     public CommentDto createComment(
@@ -38,6 +51,24 @@ public class ItemController {
         return itemService.saveItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ItemImportResultDto importItems(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            InputStream body
+    ) {
+        log.info("POST /items/bulk - импорт вещей из массива JSON пользователем {}", userId);
+        return itemService.importItems(userId, ItemImportReader.readJsonArray(objectMapper, body));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItemsNdjson(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            InputStream body
+    ) {
+        log.info("POST /items/bulk - импорт вещей из NDJSON пользователем {}", userId);
+        return itemService.importItems(userId, ItemImportReader.readNdjson(objectMapper, body));
+    }
+
     @PatchMapping("/{id}")
     public ItemDto update(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
@@ -58,17 +89,48 @@ public class ItemController {
         return itemService.findById(id, userId);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        log.info("GET /items/{}/availability - календарь доступности вещи с {} по {}", id, from, to);
+        return itemService.getAvailability(userId, id, from, to);
+    }
+
     @GetMapping
     public List<ItemBookingDto> findAllByUserId(
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
         log.info("GET /items - просмотр вещей пользователем с id={}", userId);
-        return itemService.findAllByUserId(userId, from, size);
+        Versioned<List<ItemBookingDto>> page = itemService.findAllByUserIdVersioned(userId, from, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, from, size))) {
+            return null;
+        }
+        return page.getBody();
     }
 
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<ItemBookingDto>> findAllByUserIdByCursor(
+            @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
+    ) {
+        log.info("GET /items - просмотр вещей по курсору пользователем с id={}", userId);
+        Versioned<CursorPage<ItemBookingDto>> page = itemService.findAllByUserIdVersioned(userId, cursor, size);
+        if (webRequest.checkNotModified(VersionStamp.eTag(page.getVersion(), userId, cursor, size))) {
+            return null;
+        }
+        return page.getBody().toResponseEntity();
+    }
+
     @GetMapping("/search")
     public List<ItemDto> search(
             @RequestParam String text,
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Потоковое чтение строк импорта вещей из массива JSON или NDJSON (по объекту в строке).
+ * Тело запроса не загружается в память целиком, ошибка строки не прерывает чтение,
+ * кроме синтаксической ошибки массива JSON
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemImportReader {
+
+    public static Iterator<ItemImportRow> readJsonArray(ObjectMapper mapper, InputStream body) {
+        return new ArrayRows(mapper, body);
+    }
+
+    public static Iterator<ItemImportRow> readNdjson(ObjectMapper mapper, InputStream body) {
+        return new NdjsonRows(mapper, body);
+    }
+
+    private abstract static class Rows implements Iterator<ItemImportRow> {
+        protected final ObjectMapper mapper;
+        protected int row;
+        private ItemImportRow next;
+        private boolean done;
+
+        private Rows(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        // следующая строка или null в конце тела
+        protected abstract ItemImportRow advance() throws IOException;
+
+        protected ItemImportRow convert(JsonNode node) {
+            try {
+                return ItemImportRow.of(row, mapper.treeToValue(node, ItemDto.class));
+            } catch (JsonProcessingException e) {
+                return ItemImportRow.error(row, "Некорректные поля вещи: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public ItemImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ItemImportRow current = next;
+            next = null;
+            return current;
+        }
+    }
+
+    private static class ArrayRows extends Rows {
+        private final InputStream body;
+        private JsonParser parser;
+        private boolean failed;
+
+        private ArrayRows(ObjectMapper mapper, InputStream body) {
+            super(mapper);
+            this.body = body;
+        }
+
+        @Override
+        protected ItemImportRow advance() throws IOException {
+            if (failed) {
+                return null;
+            }
+            try {
+                if (parser == null) {
+                    parser = mapper.getFactory().createParser(body);
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        failed = true;
+                        return ItemImportRow.error(0, "Ожидается массив JSON.");
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                row++;
+                return convert(mapper.readTree(parser));
+            } catch (JsonProcessingException e) {
+                // после синтаксической ошибки позиция следующего элемента неизвестна
+                failed = true;
+                return ItemImportRow.error(row, "Некорректный JSON, чтение остановлено: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static class NdjsonRows extends Rows {
+        private final BufferedReader reader;
+
+        private NdjsonRows(ObjectMapper mapper, InputStream body) {
+            super(mapper);
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected ItemImportRow advance() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                row++;
+            } while (line.isBlank());
+            try {
+                return convert(mapper.readTree(line));
+            } catch (JsonProcessingException e) {
+                return ItemImportRow.error(row, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
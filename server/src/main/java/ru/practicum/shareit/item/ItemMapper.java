@@ -2,10 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.utils.Utils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,7 +29,7 @@ public class ItemMapper {
     }
 
     public static ItemBookingDto toItemBookingDto(
-            Item item, BookingShort last, BookingShort next, List<Comment> comments) {
+            Item item, BookingShort last, BookingShort next, List<CommentDto> comments) {
         return ItemBookingDto.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -30,7 +37,7 @@ public class ItemMapper {
                 .available(item.getAvailable())
                 .lastBooking(last)
                 .nextBooking(next)
-                .comments(CommentMapper.commentToDto(comments))
+                .comments(comments)
                 .build();
     }
 
@@ -48,4 +55,45 @@ public class ItemMapper {
                 .available(itemDto.getAvailable())
                 .build();
     }
+
+    // Занятые и свободные интервалы на [from, to) по отсортированным непересекающимся бронированиям
+    public static ItemAvailabilityDto toItemAvailabilityDto(
+            Long itemId, LocalDateTime from, LocalDateTime to, List<BookingInterval> bookings) {
+        List<IntervalDto> busy = new ArrayList<>();
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        LocalDateTime busyStart = null;
+        for (BookingInterval booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (busyStart != null && start.isAfter(cursor)) {
+                busy.add(toIntervalDto(busyStart, cursor));
+                busyStart = null;
+            }
+            if (busyStart == null) {
+                if (start.isAfter(cursor)) {
+                    free.add(toIntervalDto(cursor, start));
+                }
+                busyStart = start;
+            }
+            cursor = end;
+        }
+        if (busyStart != null) {
+            busy.add(toIntervalDto(busyStart, cursor));
+        }
+        if (cursor.isBefore(to)) {
+            free.add(toIntervalDto(cursor, to));
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from.format(Utils.dtFormatter))
+                .to(to.format(Utils.dtFormatter))
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
+    private static IntervalDto toIntervalDto(LocalDateTime start, LocalDateTime end) {
+        return new IntervalDto(start.format(Utils.dtFormatter), end.format(Utils.dtFormatter));
+    }
 }
@@ -2,30 +2,69 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
-import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.VersionStamp;
 
+import javax.persistence.LockModeType;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    // Все вещи по ids запросов
-    List<Item> findAllByRequestIsIn(Collection<ItemRequest> request);
+    // Вещи по ids запросов сразу в виде ItemDto, без загрузки сущностей
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Item as i " +
+            "where i.request.id in ?1")
+    List<ItemDto> findItemDtoByRequestIds(Collection<Long> requestIds);
 
     // Список вещей пользователя
     List<Item> findAllByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
+    // Отметка версии вещей владельца для ETag списка вещей
+    @Query("select new ru.practicum.shareit.utils.VersionStamp(count(i), coalesce(sum(i.id), 0), " +
+            "coalesce(sum(i.version), 0), coalesce(max(i.version), 0)) " +
+            "from Item as i where i.owner.id=?1")
+    VersionStamp getOwnerItemsStamp(Long ownerId);
+
+    // Отметка версии вещей, созданных по запросам пользователя, для ETag списка запросов
+    @Query("select new ru.practicum.shareit.utils.VersionStamp(count(i), coalesce(sum(i.id), 0), " +
+            "coalesce(sum(i.version), 0), coalesce(max(i.version), 0)) " +
+            "from Item as i where i.request.requestor.id=?1")
+    VersionStamp getRequestorItemsStamp(Long requestorId);
+
+    // Блокировка строки вещи: подтверждения бронирований одной вещи выполняются по очереди
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id=?1")
+    Optional<Item> lockById(Long itemId);
+
+    // Блокировка строк набора вещей в порядке id, чтобы параллельные пакетные подтверждения не взаимоблокировались
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id in ?1 order by i.id asc")
+    List<Item> lockAllById(Collection<Long> itemIds);
+
+    // Список вещей пользователя после вещи с id (постранично по ключу)
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
+
     // Найти вещь по ID и не принадлежащую владельцу
     Optional<Item> findByIdAndOwnerNot(Long itemId, User user);
 
     // Поиск вещий по названию или описанию
+    // сначала точное совпадение названия, затем начало названия,
+    // вхождение в название и только в описание
+    // на PostgreSQL условия like обслуживаются триграммными индексами (V2__items_search_trgm.sql)
     @Query("select i from Item i " +
             "where i.available=true and length(?1)>0 and " +
             "(upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')))")
+            " or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "order by case " +
+            " when upper(i.name) = upper(?1) then 0 " +
+            " when upper(i.name) like upper(concat(?1, '%')) then 1 " +
+            " when upper(i.name) like upper(concat('%', ?1, '%')) then 2 " +
+            " else 3 end, i.id")
     List<Item> search(String text, Pageable pageable);
 }
 
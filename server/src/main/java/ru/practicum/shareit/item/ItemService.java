@@ -2,21 +2,38 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.Versioned;
 
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 public interface ItemService {
     ItemDto saveItem(Long userId, ItemDto itemDto);
 
+    ItemImportResultDto importItems(Long userId, Iterator<ItemImportRow> rows);
+
     ItemDto updateItem(Long userId, ItemDto itemDto);
 
     ItemBookingDto findById(Long itemId, Long userId);
 
     List<ItemBookingDto> findAllByUserId(Long userId, int from, int size);
 
+    CursorPage<ItemBookingDto> findAllByUserId(Long userId, String cursor, int size);
+
+    Versioned<List<ItemBookingDto>> findAllByUserIdVersioned(Long userId, int from, int size);
+
+    Versioned<CursorPage<ItemBookingDto>> findAllByUserIdVersioned(Long userId, String cursor, int size);
+
     List<ItemDto> search(String search, int from, int size);
 
+    ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
     CommentDto addComment(Long userId, Long itemId, CommentNewDto comment);
 }
@@ -2,31 +2,52 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.CommentShort;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.PageCursor;
+import ru.practicum.shareit.utils.Versioned;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -39,6 +60,23 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.items.comments-limit:50}")
+    private int commentsLimit;
+
+    @Value("${shareit.availability.default-days:30}")
+    private int availabilityDefaultDays;
+
+    // вещей в пакете импорта, совпадает с размером пакета JDBC
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int importBatchSize;
+
+    // ошибок импорта в ответе, остальные только считаются
+    @Value("${shareit.items.import-max-errors:100}")
+    private int importMaxErrors;
 
     // Сохранение вещи
     @Override
@@ -61,6 +99,134 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.itemToDto(saved);
     }
 
+    // Импорт вещей пользователя: владелец загружается один раз, запросы вещей - одним запросом на пакет,
+    // вещи вставляются пакетами JDBC. Чтение тела запроса идет вне транзакции, каждый пакет
+    // сохраняется в своей транзакции, поэтому ошибка в середине не откатывает уже добавленные вещи
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemImportResultDto importItems(Long userId, Iterator<ItemImportRow> rows) {
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь c id=%d не найден.", userId)));
+
+        Map<Long, ItemRequest> requests = new HashMap<>();
+        List<ItemImportRow> chunk = new ArrayList<>();
+        ImportErrors errors = new ImportErrors(importMaxErrors);
+        int total = 0;
+        int imported = 0;
+        while (rows.hasNext()) {
+            ItemImportRow row = rows.next();
+            total++;
+            String error = row.getError() != null ? row.getError() : checkImportItem(row.getItem());
+            if (error != null) {
+                errors.add(row.getRow(), error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == importBatchSize) {
+                imported += saveImportChunk(owner, chunk, requests, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += saveImportChunk(owner, chunk, requests, errors);
+        }
+        errors.list.sort(Comparator.comparingInt(ItemImportErrorDto::getRow));
+        log.info("Пользователь id={} импортировал {} вещей из {}.", userId, imported, total);
+        return ItemImportResultDto.builder()
+                .total(total)
+                .imported(imported)
+                .errorCount(errors.count)
+                .errors(errors.list)
+                .build();
+    }
+
+    // Сохранение пакета импорта в отдельной транзакции, неизвестные id запросов догружаются одним запросом.
+    // Ошибка базы откатывает только этот пакет: его строки попадают в ошибки импорта, импорт продолжается
+    private int saveImportChunk(User owner, List<ItemImportRow> chunk, Map<Long, ItemRequest> requests,
+                                ImportErrors errors) {
+        List<ItemImportRow> missing = new ArrayList<>();
+        int saved;
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                Set<Long> unknown = chunk.stream()
+                        .map(row -> row.getItem().getRequestId())
+                        .filter(requestId -> requestId != null && !requests.containsKey(requestId))
+                        .collect(Collectors.toSet());
+                if (!unknown.isEmpty()) {
+                    itemRequestRepository.findAllById(unknown)
+                            .forEach(itemRequest -> requests.put(itemRequest.getId(), itemRequest));
+                    unknown.forEach(requestId -> requests.putIfAbsent(requestId, null));
+                }
+
+                List<Item> items = new ArrayList<>(chunk.size());
+                for (ItemImportRow row : chunk) {
+                    Long requestId = row.getItem().getRequestId();
+                    if (requestId != null && requests.get(requestId) == null) {
+                        missing.add(row);
+                        continue;
+                    }
+                    Item item = ItemMapper.dtoToItem(row.getItem());
+                    item.setId(null);
+                    item.setOwner(owner);
+                    item.setRequest(requestId != null ? requests.get(requestId) : null);
+                    items.add(item);
+                }
+                itemRepository.saveAll(items);
+                entityManager.flush();
+                entityManager.clear();
+                return items.size();
+            });
+            saved = count != null ? count : 0;
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Пакет импорта вещей пользователя id={} не сохранен: {}", owner.getId(), e.getMessage());
+            chunk.stream()
+                    .filter(row -> !missing.contains(row))
+                    .forEach(row -> errors.add(row.getRow(), "Вещь не сохранена: ошибка базы данных."));
+            saved = 0;
+        }
+        missing.forEach(row -> errors.add(row.getRow(),
+                String.format("Запрос вещи c id=%d не найден.", row.getItem().getRequestId())));
+        return saved;
+    }
+
+    // Ошибки импорта: в ответ попадают не более max, считаются все
+    private static class ImportErrors {
+        private final int max;
+        private final List<ItemImportErrorDto> list = new ArrayList<>();
+        private int count;
+
+        ImportErrors(int max) {
+            this.max = max;
+        }
+
+        void add(int row, String message) {
+            count++;
+            if (list.size() < max) {
+                list.add(new ItemImportErrorDto(row, message));
+            }
+        }
+    }
+
+    // Проверка строки импорта, null если вещь корректна
+    private static String checkImportItem(ItemDto item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            return "Название вещи не должно быть пустым.";
+        }
+        if (item.getName().length() > 100) {
+            return "Название вещи не должно быть длиннее 100 символов.";
+        }
+        if (item.getDescription() == null || item.getDescription().isBlank()) {
+            return "Описание вещи не должно быть пустым.";
+        }
+        if (item.getDescription().length() > 255) {
+            return "Описание вещи не должно быть длиннее 255 символов.";
+        }
+        if (item.getAvailable() == null) {
+            return "Не указана доступность вещи.";
+        }
+        return null;
+    }
+
     // Обновление вещи
     @Override
     @Transactional
@@ -125,7 +291,7 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.toItemBookingDto(item,
                 getLastBooking(item.getId(), userId),
                 getNextBooking(item.getId(), userId),
-                comments);
+                CommentMapper.commentToDto(comments));
     }
 
     // Вернуть вещи владельца с комментариями
@@ -133,21 +299,91 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemBookingDto> findAllByUserId(Long userId, int from, int size) {
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
-        List<ItemBookingDto> returned = new ArrayList<>();
         List<Item> items = itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageRequest);
-        List<Comment> comments = commentRepository.findCommentsByItemIsIn(items);
+        return toItemBookingDto(items, userId);
+    }
+
+    // Вернуть вещи владельца с комментариями постранично по курсору (id)
+    @Override
+    public CursorPage<ItemBookingDto> findAllByUserId(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        long afterId = after == null ? 0L : after.getId();
+        List<Item> items = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, afterId,
+                PageRequest.of(0, size));
+        return CursorPage.of(items, size, i -> PageCursor.of(i.getId()), i -> toItemBookingDto(i, userId));
+    }
+
+    // Страница вещей владельца вместе с отметкой версии вещей, бронирований и комментариев для ETag,
+    // отметка и страница читаются в одном снимке базы
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<List<ItemBookingDto>> findAllByUserIdVersioned(Long userId, int from, int size) {
+        String version = getOwnerItemsVersion(userId);
+        return new Versioned<>(version, findAllByUserId(userId, from, size));
+    }
+
+    // Страница вещей владельца по курсору вместе с отметкой версии для ETag
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<CursorPage<ItemBookingDto>> findAllByUserIdVersioned(Long userId, String cursor, int size) {
+        String version = getOwnerItemsVersion(userId);
+        return new Versioned<>(version, findAllByUserId(userId, cursor, size));
+    }
+
+    private String getOwnerItemsVersion(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return itemRepository.getOwnerItemsStamp(userId) + "/" +
+                bookingRepository.getOwnerItemsBookingsStamp(userId, BookingStatus.APPROVED, now) + "/" +
+                commentRepository.getOwnerItemsCommentsStamp(userId);
+    }
+
+    // Вещи с бронированиями и комментариями
+    // последние и следующие бронирования выбираются для всей страницы сразу
+    private List<ItemBookingDto> toItemBookingDto(List<Item> items, Long userId) {
+        List<ItemBookingDto> returned = new ArrayList<>();
+        if (items.isEmpty()) {
+            return returned;
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShort> lastBookings = toMapByItemId(
+                bookingRepository.getLastBookings(itemIds, userId, BookingStatus.APPROVED, now));
+        Map<Long, BookingShort> nextBookings = toMapByItemId(
+                bookingRepository.getNextBookings(itemIds, userId, BookingStatus.APPROVED, now));
+        Map<Long, List<CommentDto>> comments = groupByItemId(
+                commentRepository.findLastCommentsByItemIds(itemIds, getCommentsLimit()));
         for (Item item : items) {
-            List<Comment> comments1 = comments.stream()
-                    .filter(c -> Objects.equals(c.getItem().getId(), item.getId()))
-                    .sorted(Comparator.comparing(Comment::getCreated))
-                    .collect(Collectors.toList());
-            BookingShort last = getLastBooking(item.getId(), userId);
-            BookingShort next = getNextBooking(item.getId(), userId);
-            returned.add(ItemMapper.toItemBookingDto(item, last, next, comments1));
+            returned.add(ItemMapper.toItemBookingDto(item,
+                    lastBookings.get(item.getId()),
+                    nextBookings.get(item.getId()),
+                    comments.getOrDefault(item.getId(), new ArrayList<>())));
         }
         return returned;
     }
 
+    // Комментарии приходят упорядоченными по (item_id, created), группировка за один проход
+    private Map<Long, List<CommentDto>> groupByItemId(List<CommentShort> comments) {
+        Map<Long, List<CommentDto>> grouped = new HashMap<>();
+        for (CommentShort comment : comments) {
+            grouped.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>())
+                    .add(CommentMapper.commentToDto(comment));
+        }
+        return grouped;
+    }
+
+    // Ограничение числа комментариев вещи в списке, 0 или меньше - без ограничения
+    private int getCommentsLimit() {
+        return commentsLimit > 0 ? commentsLimit : Integer.MAX_VALUE;
+    }
+
+    // Бронирования по id вещи, при совпадении времени начала берется первое
+    private Map<Long, BookingShort> toMapByItemId(List<BookingShort> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingShort::getItemId, Function.identity(), (a, b) -> a));
+    }
+
     // Поиск по названия или описанию
     @Override
     public List<ItemDto> search(String search, int from, int size) {
@@ -160,6 +396,23 @@ public class ItemServiceImpl implements ItemService {
                 itemRepository.search(search, pageRequest));
     }
 
+    // Календарь доступности вещи на [from, to), по умолчанию от текущего момента
+    @Override
+    public ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь c id=%d не найден.", userId));
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Вещь c id=%d не найдена.", itemId));
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now().withNano(0);
+        LocalDateTime end = to != null ? to : start.plusDays(availabilityDefaultDays);
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("Начало периода должно быть раньше его окончания.");
+        }
+        return ItemMapper.toItemAvailabilityDto(itemId, start, end, availabilityIndex.findBusy(itemId, start, end));
+    }
+
     // Добавить комментарий для бронирования
     // если пользователь брал в пользование вещью
     @Override
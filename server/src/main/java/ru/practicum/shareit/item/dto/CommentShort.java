@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий для списка вещей: id вещи и поля CommentDto без загрузки сущностей
+ */
+@Getter
+public class CommentShort {
+    private final Long itemId;
+    private final Long id;
+    private final String text;
+    private final String authorName;
+    private final LocalDateTime created;
+
+    // конструктор для @ConstructorResult
+    public CommentShort(Long itemId, Long id, String text, String authorName, LocalDateTime created) {
+        this.itemId = itemId;
+        this.id = id;
+        this.text = text;
+        this.authorName = authorName;
+        this.created = created;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Календарь доступности вещи на периоде [from, to): занятые подтвержденными бронированиями
+ * интервалы (соседние объединены) и свободные промежутки между ними
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private String from;
+    private String to;
+    private List<IntervalDto> busy;
+    private List<IntervalDto> free;
+}
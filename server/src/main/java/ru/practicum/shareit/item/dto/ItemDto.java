@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.Setter;
 
 @Data
 @Builder(toBuilder = true)
+@AllArgsConstructor
 public class ItemDto {
     @Setter
     private Long id;
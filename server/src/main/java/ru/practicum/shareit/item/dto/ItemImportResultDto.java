@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Итог импорта вещей: число строк, число добавленных вещей, число ошибок
+ * и первые ошибки по строкам (не более shareit.items.import-max-errors)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResultDto {
+    private int total;
+    private int imported;
+    private int errorCount;
+    private List<ItemImportErrorDto> errors;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Getter;
+
+/**
+ * Строка импорта вещей: номер строки и вещь либо ошибка разбора
+ */
+@Getter
+public class ItemImportRow {
+    private final int row;
+    private final ItemDto item;
+    private final String error;
+
+    private ItemImportRow(int row, ItemDto item, String error) {
+        this.row = row;
+        this.item = item;
+        this.error = error;
+    }
+
+    public static ItemImportRow of(int row, ItemDto item) {
+        return new ItemImportRow(row, item, null);
+    }
+
+    public static ItemImportRow error(int row, String error) {
+        return new ItemImportRow(row, null, error);
+    }
+}
@@ -3,8 +3,12 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.utils.VersionStamp;
+import ru.practicum.shareit.utils.Versioned;
 
 import java.util.List;
 
@@ -28,10 +32,15 @@ public class ItemRequestController {
 
     @GetMapping
     public List<ItemRequestDto> findAllByRequestor(
-            @RequestHeader("X-Sharer-User-Id") Long userId
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            WebRequest webRequest
     ) {
         log.info("GET /requests - список запросов вещей пользователя {}", userId);
-        return service.findAllByRequestor(userId);
+        Versioned<List<ItemRequestDto>> requests = service.findAllByRequestorVersioned(userId);
+        if (webRequest.checkNotModified(VersionStamp.eTag(requests.getVersion(), userId))) {
+            return null;
+        }
+        return requests.getBody();
     }
 
     @GetMapping("/all")
@@ -44,6 +53,16 @@ public class ItemRequestController {
         return service.findItemRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    public ResponseEntity<List<ItemRequestDto>> findAllByCursor(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("GET /requests/all - список запросов по курсору");
+        return service.findItemRequests(userId, cursor, size).toResponseEntity();
+    }
+
     @GetMapping("/{id}")
     public ItemRequestDto getItemRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
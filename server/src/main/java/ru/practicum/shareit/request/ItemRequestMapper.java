@@ -2,15 +2,16 @@ package ru.practicum.shareit.request;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -38,12 +39,20 @@ public class ItemRequestMapper {
                 .collect(Collectors.toList());
     }
 
-    public static List<ItemRequestDto> itemRequestToDto(List<ItemRequest> requestList, List<Item> items) {
-        for (ItemRequest itemRequest : requestList) {
-            itemRequest.setItems(items.stream()
-                    .filter(f -> Objects.equals(f.getRequest().getId(), itemRequest.getId()))
-                    .collect(Collectors.toList()));
+    // Запросы с вещами: вещи группируются по requestId за один проход,
+    // сущности запросов не изменяются
+    public static List<ItemRequestDto> itemRequestToDto(List<ItemRequest> requestList, List<ItemDto> items) {
+        Map<Long, List<ItemDto>> itemsByRequest = new HashMap<>();
+        for (ItemDto item : items) {
+            itemsByRequest.computeIfAbsent(item.getRequestId(), id -> new ArrayList<>()).add(item);
         }
-        return ItemRequestMapper.itemRequestToDto(requestList);
+        return requestList.stream()
+                .map(itemRequest -> ItemRequestDto.builder()
+                        .id(itemRequest.getId())
+                        .description(itemRequest.getDescription())
+                        .created(itemRequest.getCreated())
+                        .items(itemsByRequest.getOrDefault(itemRequest.getId(), new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
     }
 }
@@ -2,7 +2,10 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.utils.VersionStamp;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -10,6 +13,21 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     // Все запросы пользователя
     List<ItemRequest> findAllByRequestorId(long requestorId);
 
+    // Отметка версии запросов пользователя для ETag списка запросов, запросы не изменяются
+    @Query("select new ru.practicum.shareit.utils.VersionStamp(count(r), coalesce(sum(r.id), 0), 0L, 0L) " +
+            "from ItemRequest as r where r.requestor.id=?1")
+    VersionStamp getRequestorStamp(long requestorId);
+
     // Все запросы за исключением запрашивающего
     List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long requestorId, Pageable pageable);
+
+    // Первая страница запросов за исключением запрашивающего (постранично по ключу)
+    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDescIdDesc(long requestorId, Pageable pageable);
+
+    // Запросы за исключением запрашивающего после позиции (created, id)
+    @Query("select r from ItemRequest as r " +
+            "where r.requestor.id<>?1 and (r.created<?2 or (r.created=?2 and r.id<?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequestorIdNotAfter(long requestorId, LocalDateTime created, long id,
+                                                   Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.Versioned;
 
 import java.util.List;
 
@@ -9,7 +11,11 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllByRequestor(long userId);
 
+    Versioned<List<ItemRequestDto>> findAllByRequestorVersioned(long userId);
+
     List<ItemRequestDto> findItemRequests(long userId, int from, int size);
 
+    CursorPage<ItemRequestDto> findItemRequests(long userId, String cursor, int size);
+
     ItemRequestDto getItemRequest(long userId, long itemRequestId);
 }
@@ -3,15 +3,21 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.utils.CursorPage;
+import ru.practicum.shareit.utils.PageCursor;
+import ru.practicum.shareit.utils.Versioned;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -40,9 +46,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new NotFoundException(String.format("Пользователь c id=%d не найдена.", userId));
         }
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorId(userId);
-        List<Item> items = itemRepository.findAllByRequestIsIn(itemRequests);
-        List<ItemRequestDto> ret = ItemRequestMapper.itemRequestToDto(itemRequests, items);
-        return ret;
+        return ItemRequestMapper.itemRequestToDto(itemRequests, findItems(itemRequests));
+    }
+
+    // Запросы пользователя вместе с отметкой версии запросов и вещей по ним для ETag,
+    // отметка и список читаются в одном снимке базы
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<List<ItemRequestDto>> findAllByRequestorVersioned(long userId) {
+        List<ItemRequestDto> requests = findAllByRequestor(userId);
+        return new Versioned<>(itemRequestRepository.getRequestorStamp(userId) + "/" +
+                itemRepository.getRequestorItemsStamp(userId), requests);
     }
 
     // Получаем все запросы на вещи за исключением запросов запрашивающего пользователя
@@ -52,8 +66,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         PageRequest pageRequest = PageRequest.of(page, size);
         List<ItemRequest> itemRequests = itemRequestRepository
                 .findAllByRequestorIdNotOrderByCreatedDesc(userId, pageRequest);
-        List<Item> items = itemRepository.findAllByRequestIsIn(itemRequests);
-        return ItemRequestMapper.itemRequestToDto(itemRequests, items);
+        return ItemRequestMapper.itemRequestToDto(itemRequests, findItems(itemRequests));
+    }
+
+    // Получаем запросы на вещи других пользователей постранично по курсору (created, id)
+    @Override
+    public CursorPage<ItemRequestDto> findItemRequests(long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decodeWithPosition(cursor);
+        PageRequest pageRequest = PageRequest.of(0, size);
+        List<ItemRequest> itemRequests;
+        if (after == null) {
+            itemRequests = itemRequestRepository
+                    .findAllByRequestorIdNotOrderByCreatedDescIdDesc(userId, pageRequest);
+        } else {
+            itemRequests = itemRequestRepository
+                    .findAllByRequestorIdNotAfter(userId, after.getPosition(), after.getId(), pageRequest);
+        }
+        List<ItemDto> items = findItems(itemRequests);
+        return CursorPage.of(itemRequests, size, r -> PageCursor.of(r.getCreated(), r.getId()),
+                r -> ItemRequestMapper.itemRequestToDto(r, items));
+    }
+
+    // Вещи, добавленные по запросам
+    private List<ItemDto> findItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        return itemRepository.findItemDtoByRequestIds(requestIds);
     }
 
     // Получаем данные о запросе
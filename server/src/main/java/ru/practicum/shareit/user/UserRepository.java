@@ -10,4 +10,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "from User as u " +
             "where u.id!=?1 and lower(u.email) like lower(?2)")
     boolean canUpdate(Long userId, String email);
+
+    // Проверка существования через findById, чтобы использовать кэш второго уровня
+    // (стандартный existsById всегда выполняет запрос count)
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
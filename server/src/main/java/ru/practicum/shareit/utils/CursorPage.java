@@ -0,0 +1,53 @@
+package ru.practicum.shareit.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница при постраничном выводе по ключу
+ */
+@Getter
+@RequiredArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Заголовок ответа с курсором следующей страницы
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+
+    /**
+     * Курсор следующей страницы, null если страница последняя
+     */
+    private final String nextCursor;
+
+    /**
+     * Страница из выборки: если выбрано меньше size, следующей страницы нет
+     *
+     * @param rows     выборка из хранилища
+     * @param size     размер страницы
+     * @param cursorOf позиция элемента выборки
+     * @param mapper   преобразование в dto
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, PageCursor> cursorOf, Function<List<E>, List<T>> mapper) {
+        String next = null;
+        if (!rows.isEmpty() && rows.size() >= size) {
+            next = cursorOf.apply(rows.get(rows.size() - 1)).encode();
+        }
+        return new CursorPage<>(mapper.apply(rows), next);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(content);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.utils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция последнего элемента страницы для постраничного вывода по ключу.
+ * Для клиента передается как непрозрачная строка (Base64)
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(staticName = "of")
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String CURSOR_ERROR_MESSAGE = "Не верный курсор для постраничного вывода.";
+
+    /**
+     * Значение сортируемого поля (start_date, created), null если сортировка только по id
+     */
+    private final LocalDateTime position;
+
+    private final Long id;
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    /**
+     * Строковое представление курсора
+     *
+     * @return курсор в Base64
+     */
+    public String encode() {
+        String raw = (position == null ? "" : position.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбор курсора, пустой курсор означает первую страницу
+     *
+     * @param cursor курсор в Base64
+     * @return позиция или null для первой страницы
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new BadRequestException(CURSOR_ERROR_MESSAGE);
+            }
+            String position = raw.substring(0, index);
+            Long id = Long.valueOf(raw.substring(index + 1));
+            return new PageCursor(position.isEmpty() ? null : LocalDateTime.parse(position), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(CURSOR_ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Разбор курсора выборки, отсортированной по значению поля и id.
+     * Курсор без значения поля (курсор вещей или поврежденный) отклоняется
+     *
+     * @param cursor курсор в Base64
+     * @return позиция или null для первой страницы
+     */
+    public static PageCursor decodeWithPosition(String cursor) {
+        PageCursor after = decode(cursor);
+        if (after != null && after.getPosition() == null) {
+            throw new BadRequestException(CURSOR_ERROR_MESSAGE);
+        }
+        return after;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Отметка версии набора строк: количество, сумма id, сумма и наибольшая версия.
+ * Меняется при добавлении, удалении или изменении любой строки набора,
+ * считается агрегатным запросом без выборки и преобразования самих строк
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class VersionStamp {
+    private final Long count;
+    private final Long idSum;
+    private final Long versionSum;
+    private final Long maxVersion;
+
+    @Override
+    public String toString() {
+        return count + ":" + idSum + ":" + versionSum + ":" + maxVersion;
+    }
+
+    /**
+     * Отметка версии уже выбранных строк: id и версии каждой строки по порядку
+     *
+     * @param rows      строки ответа
+     * @param versionOf id и версии строки
+     * @return отметка версии
+     */
+    public static <E> String ofRows(List<E> rows, Function<E, String> versionOf) {
+        return rows.stream()
+                .map(versionOf)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Слабый ETag ответа по отметкам версий и параметрам запроса:
+     * совпадает у равнозначных, но не обязательно побайтно равных ответов
+     *
+     * @param parts отметки версий, пользователь и параметры страницы
+     * @return ETag с префиксом W/
+     */
+    public static String eTag(Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return "W/\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
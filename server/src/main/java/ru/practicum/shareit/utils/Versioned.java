@@ -0,0 +1,19 @@
+package ru.practicum.shareit.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ответ вместе с отметкой версии, посчитанной в той же транзакции
+ */
+@Getter
+@RequiredArgsConstructor
+public class Versioned<T> {
+
+    /**
+     * Отметка версии строк, из которых построен ответ
+     */
+    private final String version;
+
+    private final T body;
+}
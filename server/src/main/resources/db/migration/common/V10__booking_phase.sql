@@ -0,0 +1,14 @@
+-- временная фаза бронирования (FUTURE, CURRENT, PAST) на момент последнего сдвига;
+-- выборки по State становятся равенством по фазе вместо сравнений дат с текущим моментом
+alter table bookings add column phase varchar(7);
+
+update bookings set phase = case
+    when start_date > localtimestamp then 'FUTURE'
+    when end_date < localtimestamp then 'PAST'
+    else 'CURRENT' end;
+
+-- FUTURE, CURRENT, PAST для забронировавшего
+create index ix_bookings_booker_phase_start on bookings (booker_id, phase, start_date desc);
+
+-- FUTURE, CURRENT, PAST для владельца, через items.owner_id
+create index ix_bookings_item_phase_start on bookings (item_id, phase, start_date desc);
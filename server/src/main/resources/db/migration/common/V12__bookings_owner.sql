@@ -0,0 +1,3 @@
+-- владелец вещи в бронировании: выборки владельца без соединения с items;
+-- колонка заполняется пакетами BookingOwnerBackfillMigration (V13), ограничения - в V14
+alter table bookings add column owner_id bigint;
@@ -0,0 +1,12 @@
+alter table bookings alter column owner_id set not null;
+alter table bookings add constraint fk_bookings_owner foreign key (owner_id) references users (id);
+
+-- ALL для владельца, последнее/следующее бронирование его вещей
+create index ix_bookings_owner_start on bookings (owner_id, start_date desc);
+
+-- WAITING, REJECTED для владельца
+create index ix_bookings_owner_status_start on bookings (owner_id, status, start_date desc);
+
+-- FUTURE, CURRENT, PAST для владельца вместо индекса через items.owner_id
+drop index ix_bookings_item_phase_start;
+create index ix_bookings_owner_phase_start on bookings (owner_id, phase, start_date desc);
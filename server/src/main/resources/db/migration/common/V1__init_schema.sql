@@ -1,10 +1,3 @@
--- для тестирования
--- drop table if exists requests;
--- drop table if exists comments;
--- drop table if exists bookings;
--- drop table if exists items;
--- drop table if exists users;
-
 create table if not exists users
 (
     id    bigint generated always as identity,
@@ -0,0 +1,25 @@
+-- индексы под выборки бронирований по State (BookingServiceImpl)
+
+-- ALL, FUTURE, CURRENT для забронировавшего: booker_id + диапазон/сортировка по start_date
+create index ix_bookings_booker_start on bookings (booker_id, start_date desc);
+
+-- PAST для забронировавшего: booker_id + end_date < now
+create index ix_bookings_booker_end on bookings (booker_id, end_date);
+
+-- WAITING, REJECTED для забронировавшего: booker_id + status, сортировка по start_date
+create index ix_bookings_booker_status_start on bookings (booker_id, status, start_date desc);
+
+-- выборки владельца идут через items.owner_id, затем по item_id
+create index ix_items_owner on items (owner_id, id);
+create index ix_bookings_item_start on bookings (item_id, start_date desc);
+
+-- WAITING, REJECTED для владельца, последнее/следующее бронирование вещи
+create index ix_bookings_item_status_start on bookings (item_id, status, start_date);
+
+-- PAST для владельца
+create index ix_bookings_item_end on bookings (item_id, end_date);
+
+-- комментарии вещей, вещи по запросам, запросы пользователя
+create index ix_comments_item_created on comments (item_id, created);
+create index ix_items_request on items (request_id);
+create index ix_requests_requestor_created on requests (requestor_id, created);
@@ -0,0 +1,4 @@
+-- версии строк для оптимистичной блокировки и ETag списков (VersionStamp)
+alter table users add column version bigint not null default 0;
+alter table items add column version bigint not null default 0;
+alter table bookings add column version bigint not null default 0;
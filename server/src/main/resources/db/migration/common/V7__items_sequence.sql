@@ -0,0 +1,4 @@
+-- id вещей выдает Hibernate из последовательности блоками по 50, чтобы вставки шли пакетами
+alter table items alter column id set generated by default;
+
+create sequence if not exists items_seq start with 1 increment by 50;
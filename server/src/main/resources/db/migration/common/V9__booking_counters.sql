@@ -0,0 +1,28 @@
+-- счетчики бронирований по State для забронировавшего (BOOKER) и владельца вещей (OWNER);
+-- строка создается при первом запросе сводки пересчетом, дальше изменяется приращениями
+create table if not exists booking_counters
+(
+    user_id        bigint     not null,
+    role           varchar(6) not null,
+    all_count      bigint     not null,
+    waiting_count  bigint     not null,
+    rejected_count bigint     not null,
+    future_count   bigint     not null,
+    current_count  bigint     not null,
+    past_count     bigint     not null,
+    constraint pk_booking_counters primary key (user_id, role)
+);
+
+-- момент, на который посчитаны FUTURE, CURRENT и PAST; сдвигается периодически
+create table if not exists booking_counters_rollover
+(
+    id        int       not null,
+    rolled_at timestamp not null,
+    constraint pk_booking_counters_rollover primary key (id)
+);
+
+insert into booking_counters_rollover (id, rolled_at) values (1, localtimestamp);
+
+-- переходы FUTURE -> CURRENT -> PAST при сдвиге выбираются по диапазонам начала и окончания
+create index ix_bookings_start on bookings (start_date);
+create index ix_bookings_end on bookings (end_date);
@@ -0,0 +1,3 @@
+-- сдвиг фаз просматривает только незакончившиеся бронирования, их малая доля таблицы
+create index ix_bookings_sweep_start on bookings (start_date) where phase = 'FUTURE';
+create index ix_bookings_sweep_end on bookings (end_date) where phase <> 'PAST';
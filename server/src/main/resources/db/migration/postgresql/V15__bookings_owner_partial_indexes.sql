@@ -0,0 +1,2 @@
+-- ожидающие подтверждения бронирования владельца
+create index ix_bookings_owner_waiting on bookings (owner_id, start_date desc) where status = 'WAITING';
@@ -0,0 +1,8 @@
+-- индексы для поиска вещей по подстроке (upper(...) like '%text%')
+create extension if not exists pg_trgm;
+
+create index if not exists ix_items_name_trgm
+    on items using gin (upper(name) gin_trgm_ops) where is_available;
+
+create index if not exists ix_items_description_trgm
+    on items using gin (upper(description) gin_trgm_ops) where is_available;
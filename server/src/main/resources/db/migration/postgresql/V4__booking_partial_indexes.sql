@@ -0,0 +1,6 @@
+-- частичные индексы: ожидающие подтверждения бронирования составляют малую долю таблицы
+create index ix_bookings_booker_waiting on bookings (booker_id, start_date desc) where status = 'WAITING';
+create index ix_bookings_item_waiting on bookings (item_id, start_date desc) where status = 'WAITING';
+
+-- последнее/следующее бронирование вещи ищется только среди подтвержденных
+create index ix_bookings_item_approved on bookings (item_id, start_date) where status = 'APPROVED';
@@ -0,0 +1,36 @@
+-- подтвержденные бронирования одной вещи не должны пересекаться по времени;
+-- start_date/end_date хранятся без часового пояса, поэтому tsrange, интервал полуоткрытый [start, end)
+create extension if not exists btree_gist;
+
+-- уже пересекающиеся подтвержденные бронирования не дают создать ограничение:
+-- по каждой вещи в порядке (start, id) остается первое, пересекающееся с оставленными отклоняется
+do $$
+declare
+    r        record;
+    cur_item bigint;
+    kept_end timestamp;
+begin
+    for r in select id, item_id, start_date, end_date
+             from bookings
+             where status = 'APPROVED'
+             order by item_id, start_date, id
+        loop
+            if r.item_id is distinct from cur_item then
+                cur_item := r.item_id;
+                kept_end := null;
+            end if;
+            if kept_end is not null and r.start_date < kept_end then
+                update bookings set status = 'REJECTED', version = version + 1 where id = r.id;
+                raise notice 'Бронирование id=% вещи id=% пересекается с подтвержденным и отклонено.',
+                    r.id, r.item_id;
+            else
+                kept_end := greatest(kept_end, r.end_date);
+            end if;
+        end loop;
+end
+$$;
+
+alter table bookings
+    add constraint ex_bookings_item_approved_overlap
+        exclude using gist (item_id with =, tsrange(start_date, end_date, '[)') with &&)
+        where (status = 'APPROVED');
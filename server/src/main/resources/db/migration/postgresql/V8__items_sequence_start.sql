@@ -0,0 +1,3 @@
+-- первый блок последовательности начинается после уже выданных identity id:
+-- Hibernate (pooled) считает значение последовательности верхней границей блока из 50 id
+select setval('items_seq', (select coalesce(max(id), 0) + 50 from items), false);
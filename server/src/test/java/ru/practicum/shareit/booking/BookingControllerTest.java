@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,17 +11,23 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.utils.CursorPage;
 import ru.practicum.shareit.utils.Utils;
+import ru.practicum.shareit.utils.VersionStamp;
+import ru.practicum.shareit.utils.Versioned;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -100,6 +107,24 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void approveAll_Normal() throws Exception {
+        when(bookingService.approveAll(anyLong(), anyBoolean(), anyList()))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(patch("/bookings/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of(1L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+
+        verify(bookingService).approveAll(1L, true, List.of(1L));
+    }
+
     @Test
     void approve_NoApprovedParam_ReturnBadRequest() throws Exception {
         when(bookingService.approve(anyLong(), anyBoolean(), anyLong()))
@@ -113,6 +138,43 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getSummary_Normal() throws Exception {
+        BookingSummaryDto summary = BookingSummaryDto.builder()
+                .all(3).future(1).current(1).past(1).waiting(1)
+                .asOf(now.format(Utils.dtFormatter))
+                .build();
+        when(bookingService.getBookingsSummary(anyLong()))
+                .thenReturn(summary);
+
+        mockMvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(summary)));
+
+        verify(bookingService).getBookingsSummary(1L);
+    }
+
+    @Test
+    void exportOwner_Normal_ReturnNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingDto);
+            consumer.accept(bookingDto);
+            return null;
+        }).when(bookingService).exportBookings(eq(1L), eq(true), any());
+
+        String body = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String line = mapper.writeValueAsString(bookingDto);
+        Assertions.assertThat(body).isEqualTo(line + "\n" + line + "\n");
+    }
+
     @Test
     void get_Normal() throws Exception {
         when(bookingService.getBooking(anyLong(), anyLong()))
@@ -130,8 +192,8 @@ class BookingControllerTest {
     @Test
     void getAll_Normal() throws Exception {
         List<BookingDto> bookingDtoList = List.of(bookingDto);
-        when(bookingService.getAllBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(bookingDtoList);
+        when(bookingService.getAllBookingsVersioned(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", bookingDtoList));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -145,8 +207,8 @@ class BookingControllerTest {
     @Test
     void geOwnerAll_Normal() throws Exception {
         List<BookingDto> bookingDtoList = List.of(bookingDto);
-        when(bookingService.getAllBookingsForOwner(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(bookingDtoList);
+        when(bookingService.getAllBookingsForOwnerVersioned(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", bookingDtoList));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -156,4 +218,66 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByCursor_Normal_ReturnNextCursorHeader() throws Exception {
+        CursorPage<BookingDto> page = new CursorPage<>(List.of(bookingDto), "next");
+        when(bookingService.getAllBookingsVersioned(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", page));
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void getOwnerAllByCursor_LastPage_NoNextCursorHeader() throws Exception {
+        CursorPage<BookingDto> page = new CursorPage<>(List.of(bookingDto), null);
+        when(bookingService.getAllBookingsForOwnerVersioned(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", page));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", "abc")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+    }
+
+    @Test
+    void getAll_ReturnETagHeader() throws Exception {
+        when(bookingService.getAllBookingsVersioned(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", List.of(bookingDto)));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VersionStamp.eTag("1.0.0.0", 1L, "ALL", 0, 20)))
+                .andExpect(header().string("ETag", startsWith("W/\"")));
+    }
+
+    @Test
+    void getOwnerAll_IfNoneMatch_ReturnNotModified() throws Exception {
+        when(bookingService.getAllBookingsForOwnerVersioned(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(new Versioned<>("1.0.0.0", List.of(bookingDto)));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", VersionStamp.eTag("1.0.0.0", 1L, "ALL", 0, 20))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+    }
+}
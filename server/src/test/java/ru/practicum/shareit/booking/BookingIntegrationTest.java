@@ -9,11 +9,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.Versioned;
 
 import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Transactional
@@ -23,6 +27,7 @@ public class BookingIntegrationTest {
 
     private final EntityManager em;
     private final BookingService bookingService;
+    private final BookingCounters counters;
 
     private final LocalDateTime now = LocalDateTime.now();
 
@@ -78,6 +83,94 @@ public class BookingIntegrationTest {
                 .hasFieldOrPropertyWithValue("status", "APPROVED");
     }
 
+    @Test
+    void createBooking_OverlapsApproved_ReturnConflictException() {
+        BookingNewDto newBooking = BookingNewDto.builder()
+                .itemId(item1.getId())
+                .start(now.plusHours(12)).end(now.plusDays(3))
+                .build();
+
+        Assertions.assertThatThrownBy(() -> bookingService.createBooking(booker.getId(), newBooking))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void approve_OverlapsApproved_ReturnConflictException() {
+        Booking overlapping = Booking.builder()
+                .item(item1).booker(booker).status(BookingStatus.WAITING)
+                .start(now).end(now.plusDays(3))
+                .build();
+        em.persist(overlapping);
+
+        Assertions.assertThatThrownBy(() -> bookingService.approve(owner.getId(), true, overlapping.getId()))
+                .isInstanceOf(ConflictException.class);
+        Assertions.assertThat(bookingService.approve(owner.getId(), false, overlapping.getId()))
+                .hasFieldOrPropertyWithValue("status", "REJECTED");
+    }
+
+    @Test
+    void approveAll_Normal() {
+        Booking booking5 = Booking.builder()
+                .item(item2).booker(booker).status(BookingStatus.WAITING)
+                .start(now.plusDays(3)).end(now.plusDays(4))
+                .build();
+        em.persist(booking5);
+
+        List<BookingDto> approved = bookingService.approveAll(owner.getId(), true,
+                List.of(booking2.getId(), booking5.getId()));
+
+        Assertions.assertThat(approved).hasSize(2)
+                .allMatch(dto -> dto.getStatus().equals("APPROVED"));
+        Assertions.assertThat(bookingService.getBooking(booker.getId(), booking5.getId()))
+                .hasFieldOrPropertyWithValue("status", "APPROVED");
+    }
+
+    @Test
+    void getBookingsSummary_CreateAndApprove() {
+        // счетчики FUTURE, CURRENT и PAST на момент сдвига после создания бронирований
+        counters.rollover();
+
+        BookingSummaryDto summary = bookingService.getBookingsSummary(booker.getId());
+        Assertions.assertThat(summary)
+                .hasFieldOrPropertyWithValue("all", 4L)
+                .hasFieldOrPropertyWithValue("waiting", 1L)
+                .hasFieldOrPropertyWithValue("rejected", 2L)
+                .hasFieldOrPropertyWithValue("future", 1L)
+                .hasFieldOrPropertyWithValue("current", 2L)
+                .hasFieldOrPropertyWithValue("past", 1L);
+        Assertions.assertThat(bookingService.getOwnerBookingsSummary(owner.getId()))
+                .isEqualTo(summary);
+
+        bookingService.createBooking(booker.getId(), BookingNewDto.builder()
+                .itemId(item2.getId())
+                .start(now.plusDays(3)).end(now.plusDays(4))
+                .build());
+        bookingService.approve(owner.getId(), true, booking2.getId());
+        // приращения выполнены UPDATE в обход контекста, прочитанного в той же транзакции
+        em.clear();
+
+        Assertions.assertThat(bookingService.getBookingsSummary(booker.getId()))
+                .hasFieldOrPropertyWithValue("all", 5L)
+                .hasFieldOrPropertyWithValue("waiting", 1L)
+                .hasFieldOrPropertyWithValue("rejected", 2L)
+                .hasFieldOrPropertyWithValue("future", 2L);
+        Assertions.assertThat(bookingService.getOwnerBookingsSummary(owner.getId()))
+                .hasFieldOrPropertyWithValue("all", 5L)
+                .hasFieldOrPropertyWithValue("waiting", 1L);
+    }
+
+    @Test
+    void exportBookings_BookerAndOwner() {
+        List<BookingDto> booked = new ArrayList<>();
+        bookingService.exportBookings(booker.getId(), false, booked::add);
+        List<BookingDto> owned = new ArrayList<>();
+        bookingService.exportBookings(owner.getId(), true, owned::add);
+
+        Assertions.assertThat(booked).extracting(BookingDto::getId)
+                .containsExactly(booking2.getId(), booking4.getId(), booking1.getId(), booking3.getId());
+        Assertions.assertThat(owned).hasSize(4);
+    }
+
     @Test
     void getBooking_Normal() {
         Long userId = booker.getId();
@@ -163,6 +256,24 @@ public class BookingIntegrationTest {
         Assertions.assertThat(list6).isNotEmpty().hasSize(1);
     }
 
+    @Test
+    void getAllBookingsVersioned_ChangesWithPageRows() {
+        Versioned<List<BookingDto>> before = bookingService.getAllBookingsVersioned(booker.getId(), "ALL", 0, 1);
+        Assertions.assertThat(before.getBody()).hasSize(1);
+
+        // бронирование за пределами страницы не меняет ее отметку
+        booking3.setStatus(BookingStatus.CANCELED);
+        em.flush();
+        Assertions.assertThat(bookingService.getAllBookingsVersioned(booker.getId(), "ALL", 0, 1).getVersion())
+                .isEqualTo(before.getVersion());
+
+        // имя бронирующего есть в BookingDto
+        booker.setName("new booker");
+        em.flush();
+        Assertions.assertThat(bookingService.getAllBookingsVersioned(booker.getId(), "ALL", 0, 1).getVersion())
+                .isNotEqualTo(before.getVersion());
+    }
+
     private void init() {
         owner = User.builder().name("owner").email("owner@example.com").build();
         em.persist(owner);
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingPhaseSweeperTest {
+
+    private final TestEntityManager tem;
+    private final BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = User.builder().name("owner").email("owner@example.com").build();
+        tem.persist(owner);
+        booker = User.builder().name("booker").email("booker@example.com").build();
+        tem.persist(booker);
+        item = Item.builder()
+                .name("молоток").description("стальной молоток").available(true)
+                .owner(owner).build();
+        tem.persist(item);
+    }
+
+    // фаза на момент создания, время с тех пор прошло
+    private Booking persist(BookingPhase phase, LocalDateTime start, LocalDateTime end) {
+        return tem.persist(Booking.builder()
+                .item(item).booker(booker).status(BookingStatus.APPROVED)
+                .start(start).end(end).phase(phase)
+                .build());
+    }
+
+    @Test
+    void sweep_AdvancePhasesInBatches() {
+        Booking started = persist(BookingPhase.FUTURE, now.minusHours(1), now.plusDays(1));
+        Booking startedAndEnded = persist(BookingPhase.FUTURE, now.minusDays(2), now.minusDays(1));
+        Booking ended = persist(BookingPhase.CURRENT, now.minusDays(2), now.minusHours(1));
+        Booking future = persist(BookingPhase.FUTURE, now.plusDays(1), now.plusDays(2));
+        tem.flush();
+
+        new BookingPhaseSweeper(bookingRepository, 1).sweep();
+        tem.clear();
+
+        Assertions.assertThat(tem.find(Booking.class, started.getId()).getPhase()).isEqualTo(BookingPhase.CURRENT);
+        Assertions.assertThat(tem.find(Booking.class, startedAndEnded.getId()).getPhase()).isEqualTo(BookingPhase.PAST);
+        Assertions.assertThat(tem.find(Booking.class, ended.getId()).getPhase()).isEqualTo(BookingPhase.PAST);
+        Assertions.assertThat(tem.find(Booking.class, future.getId()).getPhase()).isEqualTo(BookingPhase.FUTURE);
+    }
+
+    @Test
+    void persist_PhaseFromDates() {
+        Assertions.assertThat(persist(null, now.minusDays(1), now.plusDays(1)).getPhase())
+                .isEqualTo(BookingPhase.CURRENT);
+        Assertions.assertThat(persist(null, now.minusDays(2), now.minusDays(1)).getPhase())
+                .isEqualTo(BookingPhase.PAST);
+    }
+}
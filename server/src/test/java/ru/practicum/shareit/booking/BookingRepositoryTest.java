@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,13 +11,18 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.PageCursor;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingRepositoryTest {
 
@@ -206,4 +213,148 @@ class BookingRepositoryTest {
                 .hasFieldOrPropertyWithValue("bookerId", bookerB.getId());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_getLastAndNextBookings_ForItems() {
+        Item item2 = Item.builder()
+                .name("дрель").description("ударная дрель").available(true)
+                .owner(owner).build();
+        tem.persist(item2);
+        Booking oldPast = Booking.builder()
+                .item(item).booker(booker)
+                .start(now.minusDays(10)).end(now.minusDays(9))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(oldPast);
+        Booking past = Booking.builder()
+                .item(item).booker(booker)
+                .start(now.minusDays(3)).end(now.minusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(past);
+        Booking next = Booking.builder()
+                .item(item).booker(booker)
+                .start(now.plusDays(2)).end(now.plusDays(3))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(next);
+        Booking later = Booking.builder()
+                .item(item).booker(booker)
+                .start(now.plusDays(5)).end(now.plusDays(6))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(later);
+        Booking waiting = Booking.builder()
+                .item(item2).booker(booker)
+                .start(now.plusDays(1)).end(now.plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build();
+        tem.persist(waiting);
+        Booking next2 = Booking.builder()
+                .item(item2).booker(booker)
+                .start(now.plusDays(4)).end(now.plusDays(5))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(next2);
+
+        List<Long> itemIds = List.of(item.getId(), item2.getId());
+
+        List<BookingShort> lasts = bookingRepository.getLastBookings(itemIds, owner.getId(),
+                BookingStatus.APPROVED, now);
+        Assertions.assertThat(lasts).hasSize(1);
+        Assertions.assertThat(lasts.get(0))
+                .hasFieldOrPropertyWithValue("id", past.getId())
+                .hasFieldOrPropertyWithValue("itemId", item.getId());
+
+        List<BookingShort> nexts = bookingRepository.getNextBookings(itemIds, owner.getId(),
+                BookingStatus.APPROVED, now);
+        Assertions.assertThat(nexts).hasSize(2)
+                .extracting(BookingShort::getId)
+                .containsExactlyInAnyOrder(next.getId(), next2.getId());
+
+        Assertions.assertThat(bookingRepository.getNextBookings(itemIds, booker.getId(),
+                BookingStatus.APPROVED, now)).isEmpty();
+    }
+
+    @Test
+    void test_findAllByState_KeysetPages() {
+        // база хранит время с точностью до микросекунд, курсор строится по сохраненному значению
+        LocalDateTime at = now.truncatedTo(ChronoUnit.MICROS);
+        Booking first = Booking.builder()
+                .item(item).booker(booker)
+                .start(at.plusDays(3)).end(at.plusDays(4))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(first);
+        // то же время начала: порядок определяется id
+        Booking second = Booking.builder()
+                .item(item).booker(booker)
+                .start(at.plusDays(3)).end(at.plusDays(5))
+                .status(BookingStatus.WAITING)
+                .build();
+        tem.persist(second);
+        Booking third = Booking.builder()
+                .item(item).booker(booker)
+                .start(at.minusDays(3)).end(at.minusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build();
+        tem.persist(third);
+
+        List<Booking> page1 = bookingRepository.findAllByState(booker.getId(), false, State.ALL,
+                null, 2);
+        Assertions.assertThat(page1).containsExactly(second, first);
+
+        Booking last = page1.get(1);
+        List<Booking> page2 = bookingRepository.findAllByState(booker.getId(), false, State.ALL,
+                PageCursor.of(last.getStart(), last.getId()), 2);
+        Assertions.assertThat(page2).containsExactly(third);
+
+        List<Booking> ownerFuture = bookingRepository.findAllByState(owner.getId(), true, State.FUTURE,
+                null, 10);
+        Assertions.assertThat(ownerFuture).containsExactly(second, first);
+
+        List<Booking> waiting = bookingRepository.findAllByState(booker.getId(), false, State.WAITING,
+                null, 10);
+        Assertions.assertThat(waiting).containsExactly(second);
+    }
+
+    // Страница бронирований с вещью и бронирующим загружается одним запросом
+    private void assertSingleStatement(Supplier<List<Booking>> finder) {
+        for (int i = 1; i <= 3; i++) {
+            tem.persist(Booking.builder()
+                    .item(item).booker(booker)
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        tem.flush();
+        tem.clear();
+        Statistics statistics = tem.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDto> dtos = BookingMapper.bookingToDto(finder.get());
+
+        Assertions.assertThat(dtos).hasSize(3);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void test_findAllByBookerId_SingleStatement() {
+        assertSingleStatement(() -> bookingRepository
+                .findAllByBookerIdAndStatusEqualsOrderByStartDescIdDesc(booker.getId(), BookingStatus.WAITING,
+                        PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void test_findAllByOwnerId_SingleStatement() {
+        assertSingleStatement(() -> bookingRepository
+                .findAllByOwnerIdOrderByStartDescIdDesc(owner.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void test_findAllByState_SingleStatement() {
+        assertSingleStatement(() -> bookingRepository
+                .findAllByState(owner.getId(), true, State.FUTURE, null, 10));
+    }
+}
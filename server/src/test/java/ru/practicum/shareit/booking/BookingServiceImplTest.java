@@ -11,7 +11,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingNewDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.Item;
@@ -22,9 +24,12 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.utils.Utils;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.times;
@@ -41,6 +46,15 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private BookingCounters counters;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -62,7 +76,7 @@ class BookingServiceImplTest {
                 .id(1L)
                 .name("молоток")
                 .description("стальной молоток")
-                .owner(new User(2L, "owner", "owner@example.com"))
+                .owner(User.builder().id(2L).name("owner").email("owner@example.com").build())
                 .available(true)
                 .build();
 
@@ -223,6 +237,73 @@ class BookingServiceImplTest {
 
     }
 
+    @Test
+    void approve_OverlapsApproved_ReturnConflictException() {
+        when(bookingRepoitory.findBookingForApprove(anyLong(), anyLong()))
+                .thenReturn(Optional.of(booking));
+        Booking approved = booking.toBuilder()
+                .id(2L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2).plusHours(1))
+                .status(BookingStatus.APPROVED)
+                .build();
+        when(bookingRepoitory.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(anyLong(),
+                any(BookingStatus.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(approved));
+
+        Assertions.assertThatThrownBy(() -> bookingService.approve(2L, true, 1L))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Вещь c id=1 уже забронирована на этот период.");
+        Mockito.verify(itemRepository, times(1)).lockById(1L);
+        Mockito.verify(bookingRepoitory, Mockito.never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approveAll_Normal_OneQueryAndOneUpdate() {
+        Booking other = booking.toBuilder()
+                .id(2L)
+                .start(now.plusDays(3))
+                .end(now.plusDays(4))
+                .build();
+        when(bookingRepoitory.findBookingsForApprove(anyCollection(), anyLong()))
+                .thenReturn(List.of(booking, other));
+
+        List<BookingDto> result = bookingService.approveAll(2L, true, List.of(1L, 2L, 1L));
+
+        Assertions.assertThat(result).hasSize(2)
+                .allMatch(dto -> dto.getStatus().equals(BookingStatus.APPROVED.name()));
+        Mockito.verify(itemRepository, times(1)).lockAllById(anyCollection());
+        Mockito.verify(bookingRepoitory, times(1)).updateStatus(anyCollection(), eq(BookingStatus.APPROVED));
+        Mockito.verify(bookingRepoitory, Mockito.never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approveAll_NotOwnerOrWrongId_ReturnNotFoundException() {
+        when(bookingRepoitory.findBookingsForApprove(anyCollection(), anyLong()))
+                .thenReturn(List.of(booking));
+
+        Assertions.assertThatThrownBy(() -> bookingService.approveAll(2L, true, List.of(1L, 99L)))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Бронирования c id=[99] не найдены.");
+        Mockito.verify(bookingRepoitory, Mockito.never()).updateStatus(anyCollection(), any(BookingStatus.class));
+    }
+
+    @Test
+    void approveAll_OverlapInBatch_ReturnConflictException() {
+        Booking other = booking.toBuilder()
+                .id(2L)
+                .start(now.plusDays(2).plusHours(12))
+                .end(now.plusDays(4))
+                .build();
+        when(bookingRepoitory.findBookingsForApprove(anyCollection(), anyLong()))
+                .thenReturn(List.of(booking, other));
+
+        Assertions.assertThatThrownBy(() -> bookingService.approveAll(2L, true, List.of(1L, 2L)))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Бронирования c id=1 и id=2 пересекаются.");
+        Mockito.verify(bookingRepoitory, Mockito.never()).updateStatus(anyCollection(), any(BookingStatus.class));
+    }
+
     @Test
     void approve_Normal_Reject() {
         when(bookingRepoitory.findBookingForApprove(anyLong(), anyLong()))
@@ -281,7 +362,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdOrderByStartDesc(anyLong(), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByBookerIdOrderByStartDescIdDesc(anyLong(), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listAll = bookingService.getAllBookings(1L, "ALL", 0, 20);
@@ -293,8 +374,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdAndStartAfterOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByBookerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.FUTURE), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listFuture = bookingService.getAllBookings(1L, "FUTURE", 0, 20);
@@ -306,8 +387,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdAndEndBeforeOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByBookerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.PAST), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listPast = bookingService.getAllBookings(1L, "PAST", 0, 20);
@@ -319,7 +400,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdAndStatusInOrderByStartDesc(anyLong(),
+        when(bookingRepoitory.findAllByBookerIdAndStatusInOrderByStartDescIdDesc(anyLong(),
                 anySet(), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
@@ -332,8 +413,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByBookerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.CURRENT), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listCurrent = bookingService.getAllBookings(1L, "CURRENT", 0, 20);
@@ -345,7 +426,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByBookerIdAndStatusEqualsOrderByStartDesc(anyLong(),
+        when(bookingRepoitory.findAllByBookerIdAndStatusEqualsOrderByStartDescIdDesc(anyLong(),
                 any(BookingStatus.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
@@ -371,7 +452,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdOrderByStartDesc(anyLong(), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByOwnerIdOrderByStartDescIdDesc(anyLong(), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listAll = bookingService.getAllBookingsForOwner(1L, "ALL", 0, 20);
@@ -383,8 +464,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByOwnerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.FUTURE), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listFuture = bookingService.getAllBookingsForOwner(1L, "FUTURE", 0, 20);
@@ -396,8 +477,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByOwnerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.PAST), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listPast = bookingService.getAllBookingsForOwner(1L, "PAST", 0, 20);
@@ -409,7 +490,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdAndStatusInOrderByStartDesc(anyLong(),
+        when(bookingRepoitory.findAllByOwnerIdAndStatusInOrderByStartDescIdDesc(anyLong(),
                 anySet(), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
@@ -422,8 +503,8 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
+        when(bookingRepoitory.findAllByOwnerIdAndPhaseOrderByStartDescIdDesc(anyLong(),
+                eq(BookingPhase.CURRENT), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listCurrent = bookingService.getAllBookingsForOwner(1L, "CURRENT", 0, 20);
@@ -435,11 +516,46 @@ class BookingServiceImplTest {
         when(userRepository.existsById(anyLong()))
                 .thenReturn(true);
 
-        when(bookingRepoitory.findAllByItemOwnerIdAndStatusEqualsOrderByStartDesc(anyLong(),
+        when(bookingRepoitory.findAllByOwnerIdAndStatusEqualsOrderByStartDescIdDesc(anyLong(),
                 any(BookingStatus.class), any(PageRequest.class)))
                 .thenReturn(List.of(booking));
 
         List<BookingDto> listWaiting = bookingService.getAllBookingsForOwner(1L, "WAITING", 0, 20);
         Assertions.assertThat(listWaiting).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOwnerBookingsSummary_WrongUserId_ReturnNotFoundException() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        Assertions.assertThatThrownBy(() -> bookingService.getOwnerBookingsSummary(1L))
+                .isInstanceOf(NotFoundException.class);
+        Mockito.verifyNoInteractions(counters);
+    }
+
+    @Test
+    void getOwnerBookingsSummary_Normal() {
+        BookingSummaryDto summary = BookingSummaryDto.builder().all(2).waiting(1).future(2).build();
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(counters.summary(1L, BookingCounterRole.OWNER))
+                .thenReturn(summary);
+
+        Assertions.assertThat(bookingService.getOwnerBookingsSummary(1L)).isEqualTo(summary);
+    }
+
+    @Test
+    void exportBookings_Owner_StreamAllToConsumer() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepoitory.streamAllByOwnerId(2L))
+                .thenReturn(Stream.of(booking, booking.toBuilder().id(2L).build()));
+
+        List<BookingDto> exported = new ArrayList<>();
+        bookingService.exportBookings(2L, true, exported::add);
+
+        Assertions.assertThat(exported).extracting(BookingDto::getId).containsExactly(1L, 2L);
+        Mockito.verify(bookingRepoitory, Mockito.never()).streamAllByBookerId(anyLong());
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.booking;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemAvailabilityIndex index;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private BookingInterval current;
+    private BookingInterval future;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemAvailabilityIndex(bookingRepository, 100, Duration.ofMinutes(1));
+        current = new BookingInterval(1L, now.minusDays(1), now.plusDays(1));
+        future = new BookingInterval(2L, now.plusDays(5), now.plusDays(6));
+    }
+
+    @Test
+    void findBusy_LoadOnceAndFindWindow() {
+        when(bookingRepository.findIntervalsEndingAfter(eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(current, future));
+
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(2)))
+                .containsExactly(current);
+        Assertions.assertThat(index.findBusy(1L, now.plusDays(1), now.plusDays(10)))
+                .containsExactly(future);
+
+        verify(bookingRepository, times(1))
+                .findIntervalsEndingAfter(anyLong(), any(BookingStatus.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void findBusy_ApprovedAndReleased_UpdateLoadedItem() {
+        when(bookingRepository.findIntervalsEndingAfter(eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(current));
+        index.findBusy(1L, now.plusHours(1), now.plusDays(10));
+
+        index.approved(1L, future);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(current, future);
+
+        index.released(1L, current);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(future);
+    }
+
+    @Test
+    void approved_InTransaction_ApplyOnlyAfterCommit() {
+        when(bookingRepository.findIntervalsEndingAfter(eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(current));
+        index.findBusy(1L, now.plusHours(1), now.plusDays(10));
+
+        complete(() -> index.approved(1L, future), TransactionSynchronization.STATUS_ROLLED_BACK);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(current);
+
+        complete(() -> index.approved(1L, future), TransactionSynchronization.STATUS_COMMITTED);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(current, future);
+        verify(bookingRepository, times(1))
+                .findIntervalsEndingAfter(anyLong(), any(BookingStatus.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void approved_UnknownOutcomeOrConflict_ReloadItem() {
+        BookingInterval sameStart = new BookingInterval(3L, future.getStart(), future.getEnd().plusDays(1));
+        when(bookingRepository.findIntervalsEndingAfter(eq(1L), eq(BookingStatus.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(List.of(current, future), List.of(current), List.of(current, sameStart));
+        index.findBusy(1L, now.plusHours(1), now.plusDays(10));
+
+        // исход транзакции неизвестен: запись сбрасывается
+        complete(() -> index.released(1L, future), TransactionSynchronization.STATUS_UNKNOWN);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(current);
+
+        // по тому же началу в индексе другой интервал: запись сбрасывается
+        index.approved(1L, future);
+        index.released(1L, sameStart);
+        Assertions.assertThat(index.findBusy(1L, now.plusHours(1), now.plusDays(10)))
+                .containsExactly(current, sameStart);
+        verify(bookingRepository, times(3))
+                .findIntervalsEndingAfter(anyLong(), any(BookingStatus.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void findBusy_FromBeforeLoad_QueryWindow() {
+        LocalDateTime from = now.minusDays(3);
+        LocalDateTime to = now.minusDays(2);
+        when(bookingRepository.findIntervals(1L, BookingStatus.APPROVED, from, to))
+                .thenReturn(List.of());
+
+        Assertions.assertThat(index.findBusy(1L, from, to)).isEmpty();
+        verify(bookingRepository).findIntervals(1L, BookingStatus.APPROVED, from, to);
+    }
+
+    // Изменение индекса внутри транзакции, завершенной с указанным исходом
+    private void complete(Runnable change, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            change.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
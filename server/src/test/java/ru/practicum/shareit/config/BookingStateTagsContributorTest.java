@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Tag;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class BookingStateTagsContributorTest {
+
+    private final BookingStateTagsContributor contributor = new BookingStateTagsContributor();
+
+    @Test
+    void getTags_KnownState() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        request.setParameter("state", "CURRENT");
+
+        Iterable<Tag> tags = contributor.getTags(request, new MockHttpServletResponse(), null, null);
+
+        Assertions.assertThat(tags).containsExactly(Tag.of("state", "CURRENT"));
+    }
+
+    @Test
+    void getTags_UnknownState() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        request.setParameter("state", "UNSUPPORTED_STATUS");
+
+        Iterable<Tag> tags = contributor.getTags(request, new MockHttpServletResponse(), null, null);
+
+        Assertions.assertThat(tags).containsExactly(Tag.of("state", "UNKNOWN"));
+    }
+
+    @Test
+    void getTags_NoState() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+
+        Iterable<Tag> tags = contributor.getTags(request, new MockHttpServletResponse(), null, null);
+
+        Assertions.assertThat(tags).containsExactly(Tag.of("state", "NONE"));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.junit.jupiter.api.Test;
+
+class H2PostgreSQLDialectTest {
+
+    @Test
+    void getReadLockString_PostgreSQLShared_H2Exclusive() {
+        Assertions.assertThat(new PostgreSQL10Dialect().getReadLockString(-1)).isEqualTo(" for share");
+        Assertions.assertThat(new H2PostgreSQLDialect().getReadLockString(-1)).isEqualTo(" for update");
+        Assertions.assertThat(new H2PostgreSQLDialect().getReadLockString("r", -1)).isEqualTo(" for update of r");
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+// Без @Transactional: кэш второго уровня заполняется только после фиксации транзакции
+@SpringBootTest(properties = "shareit.cache.statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class HibernateCacheConfigTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+
+    private Statistics statistics;
+    private UserDto user;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.saveUser(UserDto.builder().name("cached").email("cached@example.com").build());
+        item = itemService.saveItem(user.getId(),
+                ItemDto.builder().name("Дрель").description("Простая дрель").available(true).build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (item != null) {
+            itemRepository.deleteById(item.getId());
+        }
+        if (userRepository.existsById(user.getId())) {
+            userService.deleteUser(user.getId());
+        }
+    }
+
+    @Test
+    void findUserById_SecondCallHitsCache() {
+        userService.findUserById(user.getId());
+        userService.findUserById(user.getId());
+
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USERS_REGION)
+                .getHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void existsById_UsesCache() {
+        userService.findUserById(user.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        Assertions.assertThat(userRepository.existsById(user.getId())).isTrue();
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void updateUser_CacheRefreshed() {
+        userService.findUserById(user.getId());
+
+        userService.updateUser(UserDto.builder().id(user.getId()).name("renamed").build());
+
+        Assertions.assertThat(userService.findUserById(user.getId()))
+                .hasFieldOrPropertyWithValue("name", "renamed")
+                .hasFieldOrPropertyWithValue("email", "cached@example.com");
+    }
+
+    @Test
+    void deleteUser_CacheEvicted() {
+        itemRepository.deleteById(item.getId());
+        item = null;
+        userService.findUserById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        Assertions.assertThatThrownBy(() -> userService.findUserById(user.getId()))
+                .isInstanceOf(NotFoundException.class);
+        Assertions.assertThat(userRepository.existsById(user.getId())).isFalse();
+    }
+
+    @Test
+    void updateItem_CacheRefreshed() {
+        itemService.findById(item.getId(), user.getId());
+
+        itemService.updateItem(user.getId(), ItemDto.builder().id(item.getId()).available(false).build());
+
+        Assertions.assertThat(itemService.findById(item.getId(), user.getId()))
+                .hasFieldOrPropertyWithValue("available", false)
+                .hasFieldOrPropertyWithValue("name", "Дрель");
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Две базы H2 в памяти: основная и реплика различаются значением в таблице node
+class ReplicaRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "test", "test");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table node (name varchar(16), lag int)");
+        template.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+
+    private void init(String lagQuery) {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+                Duration.ofSeconds(5), lagQuery, Duration.ZERO);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        routing.checkReplicas();
+    }
+
+    private String node(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routing.destroy();
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    void readOnly_RoutedToReplica_WriteToPrimary() {
+        init(null);
+
+        Assertions.assertThat(node(true)).isEqualTo("replica");
+        Assertions.assertThat(node(false)).isEqualTo("primary");
+        Assertions.assertThat(jdbcTemplate.queryForObject("select name from node", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void readOnly_ReplicaLagging_RoutedToPrimary() {
+        new JdbcTemplate(replica).update("update node set lag = 10");
+        init("select lag from node");
+
+        Assertions.assertThat(node(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnly_ReplicaConnectionFails_ExcludedWithoutCheck() {
+        init(null);
+        replica.setUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+
+        Assertions.assertThat(node(true)).isEqualTo("primary");
+        // исключена при ошибке соединения, обратно не выбирается до проверки
+        replica.setUrl("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        Assertions.assertThat(node(true)).isEqualTo("primary");
+
+        routing.checkReplicas();
+        Assertions.assertThat(node(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void pin_PrimaryOrOneReplicaPerRequest() {
+        DriverManagerDataSource replica2 = h2("replica2");
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica, replica2),
+                Duration.ofSeconds(5), null, Duration.ZERO);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        try {
+            routing.pin(false);
+            String first = node(true);
+            Assertions.assertThat(first).isNotEqualTo("primary");
+            Assertions.assertThat(node(true)).isEqualTo(first);
+            Assertions.assertThat(node(false)).isEqualTo("primary");
+            Assertions.assertThat(node(true)).isEqualTo(first);
+            routing.unpin();
+
+            routing.pin(true);
+            Assertions.assertThat(node(true)).isEqualTo("primary");
+            routing.unpin();
+        } finally {
+            routing.unpin();
+            new JdbcTemplate(replica2).execute("drop all objects");
+        }
+    }
+
+    @Test
+    void pinningFilter_PrimaryPathsReadPrimary() throws Exception {
+        init(null);
+        ReplicaPinningFilter filter = new ReplicaPinningFilter(routing, List.of("/users", "/items"));
+        List<String> nodes = new ArrayList<>();
+
+        for (String path : List.of("/items/1/availability", "/bookings", "/itemsx")) {
+            filter.doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(),
+                    (request, response) -> nodes.add(node(true)));
+        }
+
+        Assertions.assertThat(nodes).containsExactly("primary", "replica", "replica");
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.dto.CommentShort;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CommentRepositoryTest {
+
+    private final TestEntityManager tem;
+    private final CommentRepository commentRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User author;
+    private Item item1;
+    private Item item2;
+
+    @BeforeEach
+    void setUp() {
+        User owner = User.builder().name("owner").email("owner@example.com").build();
+        tem.persist(owner);
+        author = User.builder().name("author").email("author@example.com").build();
+        tem.persist(author);
+        item1 = Item.builder().name("дрель").description("ударная").available(true).owner(owner).build();
+        tem.persist(item1);
+        item2 = Item.builder().name("пила").description("ручная").available(true).owner(owner).build();
+        tem.persist(item2);
+    }
+
+    private Comment comment(Item item, String text, LocalDateTime created) {
+        Comment comment = Comment.builder().item(item).author(author).text(text).created(created).build();
+        tem.persist(comment);
+        return comment;
+    }
+
+    @Test
+    void test_findLastCommentsByItemIds_OrderedByItemAndCreated() {
+        Comment c2 = comment(item1, "второй", now.minusDays(1));
+        Comment c1 = comment(item1, "первый", now.minusDays(2));
+        Comment c3 = comment(item2, "третий", now.minusDays(3));
+
+        List<CommentShort> result = commentRepository
+                .findLastCommentsByItemIds(List.of(item1.getId(), item2.getId()), 10);
+
+        Assertions.assertThat(result)
+                .extracting(CommentShort::getId)
+                .containsExactly(c1.getId(), c2.getId(), c3.getId());
+        Assertions.assertThat(result.get(0))
+                .hasFieldOrPropertyWithValue("itemId", item1.getId())
+                .hasFieldOrPropertyWithValue("authorName", "author")
+                .hasFieldOrPropertyWithValue("text", "первый");
+    }
+
+    @Test
+    void test_findLastCommentsByItemIds_LimitPerItem() {
+        comment(item1, "старый", now.minusDays(3));
+        Comment middle = comment(item1, "средний", now.minusDays(2));
+        Comment last = comment(item1, "новый", now.minusDays(1));
+        Comment other = comment(item2, "другой", now.minusDays(5));
+
+        List<CommentShort> result = commentRepository
+                .findLastCommentsByItemIds(List.of(item1.getId(), item2.getId()), 2);
+
+        Assertions.assertThat(result)
+                .extracting(CommentShort::getId)
+                .containsExactly(middle.getId(), last.getId(), other.getId());
+    }
+}
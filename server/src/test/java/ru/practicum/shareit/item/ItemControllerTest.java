@@ -11,16 +11,25 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.utils.Versioned;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -148,8 +157,8 @@ class ItemControllerTest {
     @Test
     void findAllByUserId_Normal() throws Exception {
         List<ItemBookingDto> items = List.of(itemBookingDto);
-        when(itemService.findAllByUserId(1L, 0, 20))
-                .thenReturn(items);
+        when(itemService.findAllByUserIdVersioned(1L, 0, 20))
+                .thenReturn(new Versioned<>("1:1:0:0", items));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L)
@@ -219,4 +228,57 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(commentDto)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_Normal() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L).from("2030-01-01T00:00:00").to("2030-01-03T00:00:00")
+                .busy(List.of(new IntervalDto("2030-01-01T00:00:00", "2030-01-02T00:00:00")))
+                .free(List.of(new IntervalDto("2030-01-02T00:00:00", "2030-01-03T00:00:00")))
+                .build();
+        when(itemService.getAvailability(eq(1L), eq(1L), eq(from), eq(to)))
+                .thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                .header("X-Sharer-User-Id", 1L)
+                .param("from", "2030-01-01T00:00:00")
+                .param("to", "2030-01-03T00:00:00")
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(availability)));
+    }
+
+    @Test
+    void importItems_Ndjson_RowErrorsDoNotStopReading() throws Exception {
+        when(itemService.importItems(anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    Iterator<ItemImportRow> rows = invocation.getArgument(1);
+                    List<ItemImportErrorDto> errors = new ArrayList<>();
+                    int total = 0;
+                    while (rows.hasNext()) {
+                        ItemImportRow row = rows.next();
+                        total++;
+                        if (row.getError() != null) {
+                            errors.add(new ItemImportErrorDto(row.getRow(), row.getError()));
+                        }
+                    }
+                    return new ItemImportResultDto(total, total - errors.size(), errors.size(), errors);
+                });
+
+        mockMvc.perform(post("/items/bulk")
+                .header("X-Sharer-User-Id", 1L)
+                .content("{\"name\":\"пила\",\"description\":\"пила\",\"available\":true}\n" +
+                        "{\"name\":\n" +
+                        "\n" +
+                        "{\"name\":\"дрель\",\"description\":\"дрель\",\"available\":false}\n")
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +14,13 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,6 +31,7 @@ public class ItemIntegrationTest {
 
     private final EntityManager em;
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     private final LocalDateTime now = LocalDateTime.now();
 
@@ -59,6 +65,24 @@ public class ItemIntegrationTest {
                 .isEqualTo(newItem);
     }
 
+    @Test
+    void importItems_JsonArray_ImportValidRowsAndReportErrors() {
+        String body = "[{\"name\":\"пила\",\"description\":\"ручная пила\",\"available\":true}," +
+                "{\"name\":\"лобзик\",\"description\":\"электролобзик\",\"available\":true,\"requestId\":999}," +
+                "{\"description\":\"без названия\",\"available\":true}]";
+        int before = itemService.findAllByUserId(owner.getId(), 0, 20).size();
+
+        ItemImportResultDto result = itemService.importItems(owner.getId(), ItemImportReader.readJsonArray(
+                objectMapper, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+
+        Assertions.assertThat(result.getTotal()).isEqualTo(3);
+        Assertions.assertThat(result.getImported()).isEqualTo(1);
+        Assertions.assertThat(result.getErrorCount()).isEqualTo(2);
+        Assertions.assertThat(result.getErrors()).extracting(ItemImportErrorDto::getRow)
+                .containsExactly(2, 3);
+        Assertions.assertThat(itemService.findAllByUserId(owner.getId(), 0, 20)).hasSize(before + 1);
+    }
+
     @Test
     void updateItem_Normal() {
         Long userId = owner.getId();
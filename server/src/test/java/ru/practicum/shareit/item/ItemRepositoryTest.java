@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @DataJpaTest
@@ -87,4 +90,53 @@ class ItemRepositoryTest {
         List<Item> result2 = itemRepository.search("", pageRequest);
         Assertions.assertThat(result2).isNotNull().hasSize(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_search_RankedByName() {
+        Item item5 = Item.builder().name("подставка под стул").description("деревянная")
+                .owner(user).available(true).build();
+        tem.persist(item5);
+        Item item6 = Item.builder().name("стулья").description("набор")
+                .owner(user).available(true).build();
+        tem.persist(item6);
+        PageRequest pageRequest = PageRequest.of(0, 20);
+
+        // точное совпадение, начало названия, вхождение в название, описание
+        List<Item> result = itemRepository.search("СТУЛ", pageRequest);
+        Assertions.assertThat(result)
+                .extracting(Item::getId)
+                .containsExactly(item1.getId(), item6.getId(), item5.getId(), item2.getId());
+    }
+
+    @Test
+    void test_search_Paging() {
+        PageRequest pageRequest = PageRequest.of(1, 1);
+
+        List<Item> result = itemRepository.search("стул", pageRequest);
+        Assertions.assertThat(result)
+                .extracting(Item::getId)
+                .containsExactly(item2.getId());
+    }
+
+    @Test
+    void test_findItemDtoByRequestIds() {
+        User requestor = User.builder().name("requestor").email("requestor@example.com").build();
+        tem.persist(requestor);
+        ItemRequest request = ItemRequest.builder()
+                .description("нужен стул").requestor(requestor).created(LocalDateTime.now())
+                .build();
+        tem.persist(request);
+        Item item5 = Item.builder().name("кресло").description("мягкое")
+                .owner(user).available(true).request(request).build();
+        tem.persist(item5);
+
+        List<ItemDto> result = itemRepository.findItemDtoByRequestIds(List.of(request.getId()));
+
+        Assertions.assertThat(result).hasSize(1);
+        Assertions.assertThat(result.get(0))
+                .hasFieldOrPropertyWithValue("id", item5.getId())
+                .hasFieldOrPropertyWithValue("name", "кресло")
+                .hasFieldOrPropertyWithValue("available", true)
+                .hasFieldOrPropertyWithValue("requestId", request.getId());
+    }
+}
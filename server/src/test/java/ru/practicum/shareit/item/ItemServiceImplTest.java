@@ -8,25 +8,38 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.ForbiddenException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentNewDto;
+import ru.practicum.shareit.item.dto.CommentShort;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemBookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemImportRow;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,6 +65,15 @@ class ItemServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -345,6 +367,75 @@ class ItemServiceImplTest {
         Mockito.verifyNoMoreInteractions(itemRepository);
     }
 
+    @Test
+    void findAllItemsByUserId_WithBookings_SingleQueryPerKind() {
+        List<Item> items = List.of(item, item2);
+        BookingShort last = new BookingShort(3L, 5L, 1L);
+        BookingShort next = new BookingShort(4L, 6L, 2L);
+
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenReturn(items);
+        when(bookingRepository.getLastBookings(anyCollection(), anyLong(), any(BookingStatus.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(last));
+        when(bookingRepository.getNextBookings(anyCollection(), anyLong(), any(BookingStatus.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(next));
+
+        List<ItemBookingDto> result = itemService.findAllByUserId(1L, 0, 20);
+
+        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.get(0).getLastBooking()).isEqualTo(last);
+        Assertions.assertThat(result.get(0).getNextBooking()).isNull();
+        Assertions.assertThat(result.get(1).getLastBooking()).isNull();
+        Assertions.assertThat(result.get(1).getNextBooking()).isEqualTo(next);
+
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .getLastBookings(anyCollection(), anyLong(), any(BookingStatus.class), any(LocalDateTime.class));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .getNextBookings(anyCollection(), anyLong(), any(BookingStatus.class), any(LocalDateTime.class));
+        Mockito.verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void findAllItemsByUserId_CommentsGroupedByItem() {
+        LocalDateTime created = LocalDateTime.now();
+        List<Item> items = List.of(item, item2);
+        List<CommentShort> comments = List.of(
+                new CommentShort(1L, 10L, "первый", "author", created.minusDays(2)),
+                new CommentShort(1L, 11L, "второй", "author", created.minusDays(1)),
+                new CommentShort(2L, 12L, "третий", "author", created));
+
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenReturn(items);
+        // лимит не задан - комментарии без ограничения
+        when(commentRepository.findLastCommentsByItemIds(anyCollection(), eq(Integer.MAX_VALUE)))
+                .thenReturn(comments);
+
+        List<ItemBookingDto> result = itemService.findAllByUserId(1L, 0, 20);
+
+        Assertions.assertThat(result.get(0).getComments())
+                .extracting(CommentDto::getId)
+                .containsExactly(10L, 11L);
+        Assertions.assertThat(result.get(1).getComments())
+                .extracting(CommentDto::getId)
+                .containsExactly(12L);
+        Mockito.verify(commentRepository, Mockito.times(1))
+                .findLastCommentsByItemIds(anyCollection(), eq(Integer.MAX_VALUE));
+        Mockito.verifyNoMoreInteractions(commentRepository);
+    }
+
+    @Test
+    void findAllItemsByUserId_NoItems_NoBookingQueries() {
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyLong(), any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        List<ItemBookingDto> result = itemService.findAllByUserId(1L, 0, 20);
+
+        Assertions.assertThat(result).isEmpty();
+        Mockito.verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
     @Test
     void search_Normal() {
         List<Item> items = List.of(item, item2);
@@ -458,4 +549,89 @@ class ItemServiceImplTest {
                 .save(any(Comment.class));
         Mockito.verifyNoMoreInteractions(bookingRepository, commentRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_Normal_MergeAdjacentAndClip() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(availabilityIndex.findBusy(1L, from, to)).thenReturn(List.of(
+                new BookingInterval(1L, from.minusDays(1), from.plusDays(1)),
+                new BookingInterval(2L, from.plusDays(1), from.plusDays(2)),
+                new BookingInterval(3L, from.plusDays(5), from.plusDays(6))));
+
+        ItemAvailabilityDto result = itemService.getAvailability(1L, 1L, from, to);
+
+        Assertions.assertThat(result.getBusy()).containsExactly(
+                new IntervalDto("2030-01-01T00:00:00", "2030-01-03T00:00:00"),
+                new IntervalDto("2030-01-06T00:00:00", "2030-01-07T00:00:00"));
+        Assertions.assertThat(result.getFree()).containsExactly(
+                new IntervalDto("2030-01-03T00:00:00", "2030-01-06T00:00:00"),
+                new IntervalDto("2030-01-07T00:00:00", "2030-01-11T00:00:00"));
+    }
+
+    @Test
+    void getAvailability_ToBeforeFrom_ReturnBadRequestException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        Assertions.assertThatThrownBy(() -> itemService.getAvailability(1L, 1L, from, from.minusDays(1)))
+                .isInstanceOf(BadRequestException.class);
+        verify(availabilityIndex, never()).findBusy(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void importItems_Normal_OwnerAndRequestsLoadedOnce() {
+        ReflectionTestUtils.setField(itemService, "importMaxErrors", 2);
+        ItemRequest itemRequest = ItemRequest.builder().id(5L).build();
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllById(anyCollection())).thenReturn(List.of(itemRequest));
+        List<ItemImportRow> rows = List.of(
+                ItemImportRow.of(1, itemDto),
+                ItemImportRow.of(2, itemDto.toBuilder().requestId(5L).build()),
+                ItemImportRow.of(3, itemDto.toBuilder().requestId(6L).build()),
+                ItemImportRow.of(4, itemDto.toBuilder().name(" ").build()),
+                ItemImportRow.error(5, "Некорректный JSON"));
+
+        ItemImportResultDto result = itemService.importItems(1L, rows.iterator());
+
+        Assertions.assertThat(result.getTotal()).isEqualTo(5);
+        Assertions.assertThat(result.getImported()).isEqualTo(2);
+        Assertions.assertThat(result.getErrorCount()).isEqualTo(3);
+        Assertions.assertThat(result.getErrors()).hasSize(2);
+        Assertions.assertThat(result.getErrors().get(0).getRow()).isEqualTo(4);
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(userRepository, times(1)).findById(1L);
+        verify(itemRequestRepository, times(1)).findAllById(anyCollection());
+        verify(itemRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void importItems_ChunkFailed_RowsReportedAndNextChunkSaved() {
+        ReflectionTestUtils.setField(itemService, "importBatchSize", 2);
+        ReflectionTestUtils.setField(itemService, "importMaxErrors", 10);
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new DataIntegrityViolationException("items"))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        List<ItemImportRow> rows = List.of(
+                ItemImportRow.of(1, itemDto),
+                ItemImportRow.of(2, itemDto),
+                ItemImportRow.of(3, itemDto));
+
+        ItemImportResultDto result = itemService.importItems(1L, rows.iterator());
+
+        Assertions.assertThat(result.getTotal()).isEqualTo(3);
+        Assertions.assertThat(result.getImported()).isEqualTo(1);
+        Assertions.assertThat(result.getErrorCount()).isEqualTo(2);
+        Assertions.assertThat(result.getErrors())
+                .extracting(ItemImportErrorDto::getRow)
+                .containsExactly(1, 2);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.utils.Utils;
+import ru.practicum.shareit.utils.Versioned;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -105,8 +106,8 @@ class ItemRequestControllerTest {
     @Test
     void findAllByRequestor_Normal_returnCode200() throws Exception {
 
-        when(itemRequestService.findAllByRequestor(anyLong()))
-                .thenReturn(List.of(responseDto, responseDto2));
+        when(itemRequestService.findAllByRequestorVersioned(anyLong()))
+                .thenReturn(new Versioned<>("2:3:0:0", List.of(responseDto, responseDto2)));
 
         mockMvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L)
@@ -119,7 +120,7 @@ class ItemRequestControllerTest {
 
     @Test
     void findAllByRequestor_WrongUserId_returnCode404() throws Exception {
-        when(itemRequestService.findAllByRequestor(anyLong()))
+        when(itemRequestService.findAllByRequestorVersioned(anyLong()))
                 .thenThrow(NotFoundException.class);
 
         mockMvc.perform(get("/requests")
@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
@@ -102,7 +103,7 @@ class ItemRequestServiceImplTest {
     void findAllByRequestor_Normal() {
         Mockito.when(userRepository.existsById(1L)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestorId(1L)).thenReturn(List.of(savedItemRequest));
-        Mockito.when(itemRepository.findAllByRequestIsIn(anyList())).thenReturn(new ArrayList<>());
+        Mockito.when(itemRepository.findItemDtoByRequestIds(anyList())).thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> returned = service.findAllByRequestor(1L);
 
@@ -113,7 +114,7 @@ class ItemRequestServiceImplTest {
 
         Mockito.verify(userRepository, Mockito.times(1)).existsById(1L);
         Mockito.verify(itemRequestRepository, Mockito.times(1)).findAllByRequestorId(1L);
-        Mockito.verify(itemRepository, Mockito.times(1)).findAllByRequestIsIn(anyList());
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemDtoByRequestIds(anyList());
         Mockito.verifyNoMoreInteractions(userRepository, itemRequestRepository, itemRepository);
     }
 
@@ -138,7 +139,7 @@ class ItemRequestServiceImplTest {
         PageRequest pageRequest = PageRequest.of(0, 20);
         Mockito.when(itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(1L, pageRequest))
                 .thenReturn(List.of(savedItemRequest));
-        Mockito.when(itemRepository.findAllByRequestIsIn(anyList())).thenReturn(new ArrayList<>());
+        Mockito.when(itemRepository.findItemDtoByRequestIds(anyList())).thenReturn(new ArrayList<>());
 
         List<ItemRequestDto> retuned = service.findItemRequests(1L, 0, 20);
 
@@ -148,10 +149,35 @@ class ItemRequestServiceImplTest {
 
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findAllByRequestorIdNotOrderByCreatedDesc(1L, pageRequest);
-        Mockito.verify(itemRepository, Mockito.times(1)).findAllByRequestIsIn(anyList());
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemDtoByRequestIds(anyList());
         Mockito.verifyNoMoreInteractions(itemRequestRepository, itemRepository);
     }
 
+    @Test
+    void findItemRequests_ItemsGroupedByRequest_EntityNotChanged() {
+        ItemRequest otherRequest = ItemRequest.builder()
+                .id(2L)
+                .description("want drill")
+                .requestor(requestor)
+                .created(created.plusDays(1))
+                .items(new ArrayList<>())
+                .build();
+        ItemDto hammer = ItemDto.builder().id(10L).name("hammer").requestId(1L).build();
+        ItemDto drill = ItemDto.builder().id(11L).name("drill").requestId(2L).build();
+        ItemDto hammer2 = ItemDto.builder().id(12L).name("hammer 2").requestId(1L).build();
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        Mockito.when(itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(3L, pageRequest))
+                .thenReturn(List.of(otherRequest, savedItemRequest));
+        Mockito.when(itemRepository.findItemDtoByRequestIds(List.of(2L, 1L)))
+                .thenReturn(List.of(hammer, drill, hammer2));
+
+        List<ItemRequestDto> returned = service.findItemRequests(3L, 0, 20);
+
+        Assertions.assertThat(returned.get(0).getItems()).containsExactly(drill);
+        Assertions.assertThat(returned.get(1).getItems()).containsExactly(hammer, hammer2);
+        Assertions.assertThat(otherRequest.getItems()).isEmpty();
+    }
+
     @Test
     void getItemRequest_Normal() {
         Mockito.when(userRepository.existsById(1L)).thenReturn(true);
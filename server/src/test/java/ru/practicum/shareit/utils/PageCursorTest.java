@@ -0,0 +1,72 @@
+package ru.practicum.shareit.utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+class PageCursorTest {
+
+    private static final String CURSOR_ERROR_MESSAGE = "Не верный курсор для постраничного вывода.";
+
+    @Test
+    void encodeDecode_WithPosition() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2023, 5, 1, 10, 15, 30, 123456000), 42L);
+
+        Assertions.assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeDecode_IdOnly() {
+        PageCursor cursor = PageCursor.of(7L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+        Assertions.assertThat(decoded.getPosition()).isNull();
+        Assertions.assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void decode_Empty_ReturnNull() {
+        Assertions.assertThat(PageCursor.decode("")).isNull();
+        Assertions.assertThat(PageCursor.decode(null)).isNull();
+    }
+
+    @Test
+    void decode_Wrong_ReturnBadRequest() {
+        Throwable throwable = Assertions.catchException(() -> PageCursor.decode("не-курсор"));
+
+        Assertions.assertThat(throwable)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(CURSOR_ERROR_MESSAGE);
+    }
+
+    @Test
+    void decodeWithPosition_IdOnly_ReturnBadRequest() {
+        String cursor = PageCursor.of(7L).encode();
+
+        Throwable throwable = Assertions.catchException(() -> PageCursor.decodeWithPosition(cursor));
+
+        Assertions.assertThat(throwable)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(CURSOR_ERROR_MESSAGE);
+        Assertions.assertThat(PageCursor.decodeWithPosition(null)).isNull();
+    }
+
+    @Test
+    void cursorPage_FullPage_HasNextCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L, 2L), 2, PageCursor::of, Function.identity());
+
+        Assertions.assertThat(page.getContent()).containsExactly(1L, 2L);
+        Assertions.assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void cursorPage_LastPage_NoNextCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(1L), 2, PageCursor::of, Function.identity());
+
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+}